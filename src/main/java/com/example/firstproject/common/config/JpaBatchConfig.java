@@ -0,0 +1,42 @@
+package com.example.firstproject.common.config;
+
+import com.example.firstproject.common.db.DBConnectionUtils;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 배치 insert/update 설정
+ * 같은 문장의 insert/update를 모아서 한 번에 전송하고, MySQL 드라이버가 배치를 하나의 다중 행 insert 문으로 바꿔서 전송하도록 설정한다.
+ */
+@Configuration
+public class JpaBatchConfig {
+    @Bean
+    public HibernatePropertiesCustomizer batchPropertiesCustomizer(@Value("${board.jpa.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.put("hibernate.jdbc.batch_size", batchSize);
+            properties.put("hibernate.order_inserts", true);
+            properties.put("hibernate.order_updates", true);
+        };
+    }
+
+    /**
+     * 커넥션 풀이 만들어지기 전에 MySQL 드라이버 옵션 추가 (V1/V2 리포지토리의 커넥션 풀과 같은 설정)
+     */
+    @Bean
+    public static BeanPostProcessor mysqlDriverPropertiesPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    DBConnectionUtils.configure(dataSource);
+                }
+
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.firstproject.common.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.session.JdbcSessionDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.session.JdbcSessionProperties;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.session.FlushMode;
+import org.springframework.session.SaveMode;
+import org.springframework.session.config.SessionRepositoryCustomizer;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+
+import javax.sql.DataSource;
+
+/**
+ * 세션 저장소 설정
+ * 세션을 서버 메모리가 아닌 DB 테이블(SPRING_SESSION)에 저장해서 어느 서버로 요청이 가도 같은 세션을 사용할 수 있고, 서버를 재시작해도 로그인이 유지된다.
+ * 요청 중에 변경된 속성은 모아두었다가 요청이 끝날 때 변경된 속성만 한 번에 저장한다. (flush-mode=on_save)
+ * 만료된 세션은 조회할 때 만료 여부를 확인해서 사용하지 않으므로 테이블 정리는 긴 주기로 실행한다.
+ */
+@Configuration
+public class SessionConfig {
+    @Value("${board.session.save-mode:ON_SET_ATTRIBUTE}")
+    private SaveMode saveMode; // 세션 정보는 변경할 수 없는 객체만 저장하므로 setAttribute로 변경한 속성만 저장
+
+    @Value("${board.session.flush-mode:ON_SAVE}")
+    private FlushMode flushMode;
+
+    @Value("${board.session.cleanup-cron:0 */10 * * * *}")
+    private String cleanupCron; // 만료된 세션을 삭제하는 주기
+
+    @Bean
+    public SessionRepositoryCustomizer<JdbcIndexedSessionRepository> jdbcSessionRepositoryCustomizer() {
+        return repository -> {
+            repository.setSaveMode(saveMode);
+            repository.setFlushMode(flushMode);
+            repository.setCleanupCron(cleanupCron);
+        };
+    }
+
+    /**
+     * 세션 테이블이 없으면 생성 (이미 있으면 오류를 무시하고 넘어간다)
+     * 스프링 부트는 내장 DB일 때만 테이블을 생성하므로 MySQL에서도 생성하도록 설정한다.
+     */
+    @Bean
+    public JdbcSessionDataSourceScriptDatabaseInitializer jdbcSessionDataSourceScriptDatabaseInitializer(
+            DataSource dataSource, JdbcSessionProperties properties,
+            @Value("${board.session.initialize-schema:ALWAYS}") DatabaseInitializationMode initializeSchema) {
+        properties.setInitializeSchema(initializeSchema);
+
+        return new JdbcSessionDataSourceScriptDatabaseInitializer(dataSource, properties);
+    }
+}
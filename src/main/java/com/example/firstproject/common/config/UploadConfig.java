@@ -0,0 +1,54 @@
+package com.example.firstproject.common.config;
+
+import com.example.firstproject.common.file.BlobStore;
+import com.example.firstproject.common.file.UploadLimitFilter;
+import jakarta.servlet.MultipartConfigElement;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.MultipartConfigFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 파일 업로드 설정
+ * 업로드된 파일은 blob 저장소와 같은 디스크에 임시 저장해서 저장소로 옮길 때 복사하지 않고 이름만 바꾼다.
+ * 작은 파일은 디스크에 임시 저장하지 않고 메모리에 두고, 파일 크기와 요청 크기는 디스크에 쓰기 전에 확인한다.
+ */
+@Configuration
+public class UploadConfig {
+    @Value("${board.upload.max-file-size:50MB}")
+    private DataSize maxFileSize;
+
+    @Value("${board.upload.max-request-size:200MB}")
+    private DataSize maxRequestSize;
+
+    @Value("${board.upload.file-size-threshold:256KB}")
+    private DataSize fileSizeThreshold; // 이 크기보다 작은 파일은 메모리에 보관
+
+    @Bean
+    public MultipartConfigElement multipartConfigElement(BlobStore blobStore) {
+        MultipartConfigFactory factory = new MultipartConfigFactory();
+
+        factory.setLocation(blobStore.getIncoming().toString());
+        factory.setMaxFileSize(maxFileSize);
+        factory.setMaxRequestSize(maxRequestSize);
+        factory.setFileSizeThreshold(fileSizeThreshold);
+
+        return factory.createMultipartConfig();
+    }
+
+    @Bean
+    public FilterRegistrationBean<UploadLimitFilter> uploadLimitFilter(
+            @Value("${board.upload.max-concurrent:8}") int maxConcurrentUploads,
+            @Value("${board.upload.wait-ms:2000}") long waitMillis) {
+        FilterRegistrationBean<UploadLimitFilter> registration = new FilterRegistrationBean<>(
+                new UploadLimitFilter(maxRequestSize.toBytes(), maxConcurrentUploads, waitMillis));
+
+        registration.addUrlPatterns("/posts/*"); // 게시글 작성, 수정
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+
+        return registration;
+    }
+}
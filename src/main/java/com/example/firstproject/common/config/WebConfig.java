@@ -9,10 +9,9 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        // 로그인 체크 인터셉터 등록
+        // 로그인 체크 인터셉터 등록 (로그인 없이 접근할 수 있는 경로는 RouteClassifier에서 한 번에 판단)
         registry.addInterceptor(new LoginCheckInterceptor())
                 .order(1)
-                .addPathPatterns("/**")
-                .excludePathPatterns("/", "/login", "/members/new", "/members/register", "/posts", "/css/**", "/*.ico", "/error");
+                .addPathPatterns("/**");
     }
 }
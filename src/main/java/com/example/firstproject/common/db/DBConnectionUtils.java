@@ -1,22 +1,86 @@
 package com.example.firstproject.common.db;
 
+import com.zaxxer.hikari.HikariDataSource;
 import lombok.extern.slf4j.Slf4j;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 import static com.example.firstproject.common.constant.ConnectionConst.*;
 
+/**
+ * V1/V2 JDBC 리포지토리가 사용하는 커넥션 풀
+ * 요청마다 DriverManager로 커넥션을 새로 만들면 매번 TCP 연결과 인증을 거치므로 하나의 커넥션 풀을 공유한다.
+ * 풀 상태(활성/유휴/대기 커넥션 수)는 JMX(com.zaxxer.hikari:type=Pool (board-jdbc))로 확인할 수 있다.
+ */
 @Slf4j
 public class DBConnectionUtils {
+    private static final String POOL_NAME = "board-jdbc";
+    private static final int MAXIMUM_POOL_SIZE = 10;
+
+    private static volatile HikariDataSource dataSource;
+
     public static Connection getConnection() {
         try {
-            Connection connection = DriverManager.getConnection(URL, USERNAME, PASSWORD);
-            log.info("get connection={}, class={}", connection, connection.getClass());
+            Connection connection = getDataSource().getConnection();
+            log.debug("get connection={}, class={}", connection, connection.getClass());
             return connection;
         } catch (SQLException e) {
             throw new IllegalStateException(e);
         }
     }
+
+    /**
+     * 처음 사용할 때 커넥션 풀 생성 (V2 리포지토리의 기본 생성자가 사용)
+     */
+    public static DataSource getDataSource() {
+        HikariDataSource result = dataSource;
+
+        if (result == null) {
+            synchronized (DBConnectionUtils.class) {
+                result = dataSource;
+
+                if (result == null) {
+                    result = createDataSource();
+                    dataSource = result;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * MySQL 드라이버의 PreparedStatement 캐시와 배치 옵션 설정 (커넥션 풀이 시작되기 전에 호출)
+     * 같은 SQL을 다시 실행할 때 서버에서 파싱된 문장을 재사용하고, 배치 insert를 다중 행 insert 문 하나로 전송한다.
+     */
+    public static void configure(HikariDataSource dataSource) {
+        dataSource.setRegisterMbeans(true);
+
+        if (dataSource.getJdbcUrl() == null || !dataSource.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            return;
+        }
+
+        dataSource.addDataSourceProperty("cachePrepStmts", "true");
+        dataSource.addDataSourceProperty("prepStmtCacheSize", "250");
+        dataSource.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        dataSource.addDataSourceProperty("useServerPrepStmts", "true");
+        dataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
+    }
+
+    private static HikariDataSource createDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(POOL_NAME);
+        dataSource.setJdbcUrl(URL);
+        dataSource.setUsername(USERNAME);
+        dataSource.setPassword(PASSWORD);
+        dataSource.setMaximumPoolSize(MAXIMUM_POOL_SIZE);
+        configure(dataSource);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(dataSource::close, POOL_NAME + "-shutdown"));
+        log.info("connection pool created. pool={}, maximumPoolSize={}", POOL_NAME, MAXIMUM_POOL_SIZE);
+
+        return dataSource;
+    }
 }
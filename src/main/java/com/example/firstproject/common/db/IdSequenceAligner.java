@@ -0,0 +1,52 @@
+package com.example.firstproject.common.db;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 게시글, 첨부 파일, 댓글의 식별자 시퀀스를 기존 데이터의 최대 식별자 이후로 맞추는 컴포넌트
+ * 식별자 생성 방식을 IDENTITY에서 시퀀스로 바꾸면서 이미 저장된 행의 식별자와 겹치지 않도록, 요청을 받기 전에 시퀀스 값을 올린다.
+ * MySQL은 시퀀스가 없으므로 하이버네이트가 next_val 컬럼 하나를 가진 테이블로 시퀀스를 흉내낸다.
+ */
+@Slf4j
+@Component
+public class IdSequenceAligner implements SmartInitializingSingleton {
+    private static final int ALLOCATION_SIZE = 50; // 엔티티의 @SequenceGenerator allocationSize와 같은 값
+
+    // 시퀀스 테이블 -> 식별자를 사용하는 테이블
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "post_entity_seq", "post_entity",
+            "file_entity_seq", "file_entity",
+            "comment_entity_seq", "comment_entity"
+    );
+
+    private final JdbcTemplate template;
+
+    public IdSequenceAligner(DataSource dataSource) {
+        template = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SEQUENCES.forEach(this::align);
+    }
+
+    /**
+     * pooled 방식은 읽어온 값에서 allocationSize만큼 앞의 식별자부터 사용하므로 최대 식별자에 allocationSize를 더한 값 이상으로 맞춘다.
+     */
+    private void align(String sequence, String table) {
+        String sql = "UPDATE " + sequence + " SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) FROM " + table + ") + ?)";
+
+        try {
+            template.update(sql, ALLOCATION_SIZE + 1);
+        } catch (DataAccessException e) {
+            log.warn("식별자 시퀀스를 맞추지 못했습니다. sequence={}", sequence, e);
+        }
+    }
+}
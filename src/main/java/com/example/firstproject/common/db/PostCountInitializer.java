@@ -0,0 +1,50 @@
+package com.example.firstproject.common.db;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * 전체 게시글 수와 회원별 게시글 수를 집계하는 행을 요청을 받기 전에 만들어두는 컴포넌트
+ * 집계 행을 최초 조회 시점에 만들면 동시에 들어온 요청들이 같은 행을 만들다가 중복 키 오류가 발생하므로
+ * 애플리케이션 시작시 집계 행이 없는 대상만 실제 게시글 수로 한 번에 만든다. (이후 가입한 회원의 행은 회원가입시 생성)
+ */
+@Slf4j
+@Component
+public class PostCountInitializer implements SmartInitializingSingleton {
+    private static final String GLOBAL_SQL = "INSERT INTO post_count_entity (member_id, post_cnt) " +
+            "SELECT 0, (SELECT COUNT(*) FROM post_entity) FROM DUAL " +
+            "WHERE NOT EXISTS (SELECT 1 FROM post_count_entity WHERE member_id = 0)";
+
+    private static final String MEMBER_SQL = "INSERT INTO post_count_entity (member_id, post_cnt) " +
+            "SELECT m.id, (SELECT COUNT(*) FROM post_entity p WHERE p.member_id = m.id) FROM member_entity m " +
+            "WHERE NOT EXISTS (SELECT 1 FROM post_count_entity c WHERE c.member_id = m.id)";
+
+    private final JdbcTemplate template;
+
+    public PostCountInitializer(DataSource dataSource) {
+        template = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        initialize("global", GLOBAL_SQL);
+        initialize("member", MEMBER_SQL);
+    }
+
+    /**
+     * 여러 서버가 동시에 시작하면 다른 서버가 먼저 만든 행 때문에 실패할 수 있지만 이미 행이 있으므로 로그만 남긴다.
+     */
+    private void initialize(String target, String sql) {
+        try {
+            int created = template.update(sql);
+            log.info("게시글 수 집계 행 생성. target={}, rows={}", target, created);
+        } catch (DataAccessException e) {
+            log.warn("게시글 수 집계 행을 만들지 못했습니다. target={}", target, e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.firstproject.common.db;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * 댓글의 답글 수(reply_cnt)를 실제 답글 수로 맞추는 컴포넌트
+ * 답글 수 컬럼을 추가하기 전에 작성된 댓글은 값이 비어 있어서 답글이 없는 것으로 보이므로 요청을 받기 전에 실제 답글 수로 채운다.
+ * 이미 맞는 값은 변경하지 않으므로 다시 실행해도 값이 다른 댓글만 갱신된다.
+ */
+@Slf4j
+@Component
+public class ReplyCountInitializer implements SmartInitializingSingleton {
+    // MySQL은 update 대상 테이블을 서브쿼리에서 바로 읽을 수 없으므로 답글 수를 그룹으로 집계한 파생 테이블과 조인
+    private static final String COUNT_SQL = "UPDATE comment_entity c " +
+            "JOIN (SELECT parent_comment_id, COUNT(*) AS cnt FROM comment_entity WHERE parent_comment_id IS NOT NULL GROUP BY parent_comment_id) r " +
+            "ON r.parent_comment_id = c.id " +
+            "SET c.reply_cnt = r.cnt " +
+            "WHERE c.reply_cnt IS NULL OR c.reply_cnt <> r.cnt";
+
+    private static final String ZERO_SQL = "UPDATE comment_entity SET reply_cnt = 0 WHERE reply_cnt IS NULL";
+
+    private final JdbcTemplate template;
+
+    public ReplyCountInitializer(DataSource dataSource) {
+        template = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            int counted = template.update(COUNT_SQL);
+            int zeroed = template.update(ZERO_SQL);
+            log.info("댓글 답글 수 갱신. counted={}, zeroed={}", counted, zeroed);
+        } catch (DataAccessException e) {
+            log.warn("댓글 답글 수를 갱신하지 못했습니다.", e);
+        }
+    }
+}
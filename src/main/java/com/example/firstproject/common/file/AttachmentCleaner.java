@@ -0,0 +1,51 @@
+package com.example.firstproject.common.file;
+
+import com.example.firstproject.repository.file.JpaFileRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * 삭제된 게시글의 첨부 파일을 디스크에서 지우는 컴포넌트
+ * 파일 삭제는 DB 작업과 관계없으므로 요청 스레드를 붙잡지 않도록 별도 스레드에서 처리한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AttachmentCleaner {
+    private final JpaFileRepository fileRepository;
+    private final FileMetadataCache metadataCache;
+
+    /**
+     * 파일 경로 목록을 받아서 디스크에서 삭제 (트랜잭션이 커밋된 다음 호출)
+     * 파일은 원본 파일명으로 저장되어 다른 게시글이 같은 파일을 참조할 수 있으므로 참조하는 게시글이 없을 때만 삭제한다.
+     */
+    @Async
+    public void deleteFiles(List<String> filePaths) {
+        int deleted = 0;
+
+        for (String filePath : filePaths) {
+            if (fileRepository.existsByFilePath(filePath)) {
+                continue;
+            }
+
+            try {
+                metadataCache.evict(Paths.get(filePath));
+
+                if (Files.deleteIfExists(Paths.get(filePath))) {
+                    deleted++;
+                }
+            } catch (IOException e) {
+                log.warn("첨부 파일 삭제 실패. path={}", filePath, e);
+            }
+        }
+
+        log.info("attachment cleanup finished. requested={}, deleted={}", filePaths.size(), deleted);
+    }
+}
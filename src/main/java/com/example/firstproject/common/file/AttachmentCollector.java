@@ -0,0 +1,309 @@
+package com.example.firstproject.common.file;
+
+import com.example.firstproject.domain.jpa.AttachmentGcRunEntity;
+import com.example.firstproject.service.jpa.JpaAttachmentGcService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 참조하는 첨부 파일이 없는 파일을 저장소에서 삭제하는 컴포넌트 (mark and sweep)
+ * 첨부 파일을 삭제할 때는 blob의 참조 수만 줄이고 참조가 없어진 blob 정보를 삭제하므로 저장소의 파일은 이 작업에서 삭제한다.
+ * 주기적으로 저장소 디렉토리를 순서대로 검사하면서 blob별로 참조하는 첨부 파일 수를 다시 세고(mark) 참조가 없는 파일을 삭제한다(sweep).
+ * - 디렉토리 목록은 한 번에 읽지 않고 디렉토리별로 batchSize개씩 나누어 처리하고, 묶음마다 잠시 쉬어서 DB와 디스크에 부담을 주지 않는다.
+ * - 디렉토리 검사를 마칠 때마다 진행 상황을 기록하므로 중단되어도 다음 실행에서 이어서 검사한다.
+ * - 업로드 중인 파일은 아직 첨부 파일 정보가 저장되지 않았으므로 최근에 수정된 파일은 삭제하지 않는다.
+ */
+@Slf4j
+@Component
+public class AttachmentCollector {
+    private static final int HASH_LENGTH = 64;
+
+    private final BlobStore blobStore;
+    private final JpaAttachmentGcService gcService;
+    private final FileMetadataCache metadataCache;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final Duration gracePeriod;
+    private final boolean sweepLegacy;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "attachment-gc"));
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public AttachmentCollector(BlobStore blobStore, JpaAttachmentGcService gcService, FileMetadataCache metadataCache,
+                               @Value("${board.file.gc.batch-size:500}") int batchSize,
+                               @Value("${board.file.gc.pause-ms:200}") long pauseMillis,
+                               @Value("${board.file.gc.grace-hours:24}") long graceHours,
+                               @Value("${board.file.gc.sweep-legacy:false}") boolean sweepLegacy) {
+        this.blobStore = blobStore;
+        this.gcService = gcService;
+        this.metadataCache = metadataCache;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.gracePeriod = Duration.ofHours(graceHours);
+        this.sweepLegacy = sweepLegacy;
+    }
+
+    /**
+     * 정해진 시각에 정리 작업 실행 (기본값: 매일 새벽 4시)
+     */
+    @Scheduled(cron = "${board.file.gc.cron:0 0 4 * * *}")
+    public void schedule() {
+        submit();
+    }
+
+    /**
+     * 정리 작업 실행 요청 (이미 실행 중이면 무시하고 false 반환)
+     */
+    public boolean submit() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+
+        executor.execute(() -> {
+            try {
+                collect();
+            } finally {
+                running.set(false);
+            }
+        });
+
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow(); // 실행 중인 작업은 마지막으로 기록한 디렉토리부터 다음 실행에서 이어서 검사
+    }
+
+    private void collect() {
+        AttachmentGcRunEntity run = gcService.startOrResume();
+        Long runId = run.getId();
+        long start = System.currentTimeMillis();
+
+        log.info("attachment gc started. runId={}, cursor={}", runId, run.getCursor());
+
+        try {
+            sweepBlobs(runId, run.getCursor());
+            sweepStale(runId, blobStore.getIncoming()); // 요청이 중단되어 남은 임시 파일
+
+            if (sweepLegacy) {
+                sweepLegacy(runId);
+            }
+
+            gcService.complete(runId);
+            log.info("attachment gc finished. runId={}, elapsed={}ms", runId, System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            log.error("attachment gc failed. runId={}", runId, e);
+            gcService.fail(runId, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("attachment gc interrupted. runId={}", runId);
+        }
+    }
+
+    /**
+     * blob 저장소의 디렉토리(ab/cd)를 이름 순으로 검사 (cursor 이전의 디렉토리는 이미 검사를 마쳤으므로 건너뛴다)
+     */
+    private void sweepBlobs(Long runId, String cursor) throws IOException, InterruptedException {
+        for (Path first : listDirectories(blobStore.getRoot())) {
+            for (Path second : listDirectories(first)) {
+                String shard = first.getFileName() + "/" + second.getFileName();
+
+                if (cursor != null && shard.compareTo(cursor) <= 0) {
+                    continue;
+                }
+
+                long[] stats = sweepShard(second);
+                gcService.advance(runId, shard, stats[0], stats[1], stats[2]);
+            }
+        }
+    }
+
+    /**
+     * 디렉토리의 파일을 batchSize개씩 읽어서 참조하는 첨부 파일이 없는 파일을 삭제하고 {검사한 수, 삭제한 수, 확보한 용량} 반환
+     */
+    private long[] sweepShard(Path shard) throws IOException, InterruptedException {
+        long[] stats = new long[3];
+        Map<String, BasicFileAttributes> batch = new HashMap<>();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(shard)) {
+            for (Path file : files) {
+                BasicFileAttributes attributes = readAttributes(file);
+
+                if (attributes == null || !attributes.isRegularFile()) {
+                    continue;
+                }
+
+                stats[0]++;
+
+                String name = file.getFileName().toString();
+
+                if (name.length() > HASH_LENGTH && name.charAt(HASH_LENGTH) == '.') {
+                    // 이미지 축소본은 원본 blob이 남아있으면 유지
+                    if (!Files.exists(shard.resolve(name.substring(0, HASH_LENGTH)))) {
+                        deleteIfStale(file, stats);
+                    }
+                    continue;
+                }
+
+                if (name.length() != HASH_LENGTH) {
+                    deleteIfStale(file, stats); // blob이 아닌 파일 (저장 중에 중단되어 남은 파일)
+                    continue;
+                }
+
+                batch.put(file.getFileName().toString(), attributes);
+
+                if (batch.size() >= batchSize) {
+                    sweepBatch(batch, stats);
+                    batch.clear();
+                    Thread.sleep(pauseMillis);
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            sweepBatch(batch, stats);
+            Thread.sleep(pauseMillis);
+        }
+
+        return stats;
+    }
+
+    /**
+     * 최근에 수정되지 않은 blob만 참조 수를 다시 세고, 참조가 없는 blob을 삭제
+     */
+    private void sweepBatch(Map<String, BasicFileAttributes> batch, long[] stats) {
+        Map<String, Long> candidates = new HashMap<>();
+
+        batch.forEach((hash, attributes) -> {
+            if (isStale(attributes)) {
+                candidates.put(hash, attributes.size());
+            }
+        });
+
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        for (String hash : gcService.reconcile(candidates)) {
+            Path path = blobStore.resolve(hash);
+            metadataCache.evict(path);
+            deleteIfStale(path, stats); // 확인하는 동안 같은 내용의 파일이 다시 업로드되었으면 수정 시각이 갱신되어 삭제하지 않는다.
+
+            // 원본이 삭제되었으면 이미지 축소본도 삭제
+            if (!Files.exists(path)) {
+                for (ImageVariant variant : ImageVariant.values()) {
+                    Path variantPath = blobStore.resolveVariant(hash, variant);
+                    metadataCache.evict(variantPath);
+                    deleteIfStale(variantPath, stats);
+                }
+            }
+        }
+    }
+
+    /**
+     * 디렉토리에서 오래된 파일 삭제 (하위 디렉토리는 검사하지 않는다)
+     */
+    private void sweepStale(Long runId, Path directory) throws IOException {
+        long[] stats = new long[3];
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, Files::isRegularFile)) {
+            for (Path file : files) {
+                stats[0]++;
+                deleteIfStale(file, stats);
+            }
+        }
+
+        gcService.advance(runId, null, stats[0], stats[1], stats[2]);
+    }
+
+    /**
+     * blob 저장소 도입 전에 원본 파일명으로 저장된 파일 중 참조하는 첨부 파일이 없는 파일 삭제
+     * 저장 디렉토리에 다른 파일이 함께 있을 수 있으므로 설정(board.file.gc.sweep-legacy)으로 켰을 때만 실행한다.
+     */
+    private void sweepLegacy(Long runId) throws IOException {
+        long[] stats = new long[3];
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(blobStore.getBase(), Files::isRegularFile)) {
+            for (Path file : files) {
+                stats[0]++;
+
+                if (!gcService.isReferenced(file.toString())) {
+                    metadataCache.evict(file);
+                    deleteIfStale(file, stats);
+                }
+            }
+        }
+
+        gcService.advance(runId, null, stats[0], stats[1], stats[2]);
+    }
+
+    private void deleteIfStale(Path file, long[] stats) {
+        BasicFileAttributes attributes = readAttributes(file);
+
+        if (attributes == null || !isStale(attributes)) {
+            return;
+        }
+
+        try {
+            if (Files.deleteIfExists(file)) {
+                stats[1]++;
+                stats[2] += attributes.size();
+            }
+        } catch (IOException e) {
+            log.warn("첨부 파일 삭제 실패. path={}", file, e);
+        }
+    }
+
+    private boolean isStale(BasicFileAttributes attributes) {
+        return attributes.lastModifiedTime().toInstant().isBefore(Instant.now().minus(gracePeriod));
+    }
+
+    private BasicFileAttributes readAttributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("파일 정보 조회 실패. path={}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * 하위 디렉토리를 이름 순으로 반환 (디렉토리가 없으면 빈 목록)
+     */
+    private List<Path> listDirectories(Path directory) throws IOException {
+        List<Path> directories = new ArrayList<>();
+
+        if (!Files.isDirectory(directory)) {
+            return directories;
+        }
+
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory, Files::isDirectory)) {
+            paths.forEach(directories::add);
+        }
+
+        directories.sort(Path::compareTo);
+        return directories;
+    }
+}
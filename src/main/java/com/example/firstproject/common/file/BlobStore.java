@@ -0,0 +1,133 @@
+package com.example.firstproject.common.file;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * 첨부 파일 내용을 SHA-256 해시를 이름으로 저장하는 저장소 (content-addressed)
+ * 원본 파일명으로 저장하면 다른 게시글에 같은 이름의 파일을 올렸을 때 덮어쓰고, 같은 파일을 올릴 때마다 디스크에 다시 저장된다.
+ * 해시를 이름으로 사용하면 같은 내용은 한 번만 저장되므로 이미 저장된 파일은 해시만 계산하고 디스크에 쓰지 않는다.
+ * 한 디렉토리에 파일이 너무 많아지지 않도록 해시 앞 두 글자씩 두 단계 디렉토리로 나누어 저장한다. (예: ab/cd/abcd...)
+ * 업로드된 파일은 저장소와 같은 디스크의 incoming 디렉토리에 임시 저장되므로(UploadConfig) 새로운 파일도 복사하지 않고 이름만 바꿔서 저장한다.
+ */
+@Component
+public class BlobStore {
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path base; // blob 저장소 도입 전에 원본 파일명으로 파일을 저장하던 디렉토리
+    private final Path root;
+    private final Path incoming;
+
+    public BlobStore(@Value("${board.file.dir:/Users/seomyeong-gwan/Desktop/first-project/}") String dir) throws IOException {
+        this.base = Paths.get(dir);
+        this.root = Paths.get(dir, "blobs");
+        this.incoming = Files.createDirectories(Paths.get(dir, "incoming"));
+    }
+
+    /**
+     * 업로드된 파일의 해시와 크기를 한 번 읽으면서 계산하고 같은 내용의 파일이 없을 때만 저장
+     * 파일이 디스크에 임시 저장되어 있으면 transferTo()가 파일을 복사하지 않고 이름만 바꾼다.
+     */
+    public StoredBlob store(MultipartFile file) throws IOException {
+        MessageDigest digest = newDigest();
+        long size = 0;
+
+        try (InputStream in = file.getInputStream()) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                size += read;
+            }
+        }
+
+        String hash = HexFormat.of().formatHex(digest.digest());
+        Path target = resolve(hash);
+
+        if (Files.exists(target)) {
+            // 정리 작업(AttachmentCollector)은 최근에 수정된 파일을 삭제하지 않으므로 이미 저장된 파일을 참조할 때도 수정 시각을 갱신한다.
+            Files.setLastModifiedTime(target, FileTime.from(Instant.now()));
+        } else {
+            Files.createDirectories(target.getParent());
+
+            // 저장 중인 파일을 다른 요청이 읽지 않도록 임시 파일에 옮긴 다음 이름을 바꾼다.
+            Path temp = incoming.resolve(UUID.randomUUID() + ".part");
+
+            try {
+                file.transferTo(temp.toFile());
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        return new StoredBlob(hash, size, target.toString());
+    }
+
+    /**
+     * 해시에 해당하는 파일의 저장 경로 반환
+     */
+    public Path resolve(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    public Path getBase() {
+        return base;
+    }
+
+    /**
+     * blob을 저장하는 디렉토리 반환
+     */
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * 업로드된 파일을 임시 저장하는 디렉토리 반환
+     */
+    public Path getIncoming() {
+        return incoming;
+    }
+
+    /**
+     * blob 이미지의 축소본 저장 경로 반환 (원본과 같은 디렉토리에 <해시>.<축소본 이름>으로 저장)
+     */
+    public Path resolveVariant(String hash, ImageVariant variant) {
+        return resolve(hash).resolveSibling(hash + "." + variant.getName());
+    }
+
+    /**
+     * blob과 blob 이미지의 축소본 삭제
+     */
+    public boolean delete(String hash) throws IOException {
+        for (ImageVariant variant : ImageVariant.values()) {
+            Files.deleteIfExists(resolveVariant(hash, variant));
+        }
+
+        return Files.deleteIfExists(resolve(hash));
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
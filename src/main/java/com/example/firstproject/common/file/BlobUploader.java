@@ -0,0 +1,86 @@
+package com.example.firstproject.common.file;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 게시글에 첨부된 여러 파일을 동시에 blob 저장소에 저장하는 컴포넌트
+ * 파일마다 해시를 계산하는 시간이 걸리므로 하나씩 저장하지 않고 정해진 수의 스레드에서 나누어 처리한다.
+ * 대기열도 크기를 제한해서 대기열이 가득 차면 요청 스레드가 직접 저장한다. (스레드와 대기 중인 작업이 무한히 늘어나지 않도록)
+ */
+@Component
+public class BlobUploader {
+    private final BlobStore blobStore;
+    private final ThreadPoolExecutor executor;
+
+    public BlobUploader(BlobStore blobStore,
+                        @Value("${board.upload.threads:4}") int threads,
+                        @Value("${board.upload.queue-size:64}") int queueSize) {
+        AtomicInteger sequence = new AtomicInteger();
+
+        this.blobStore = blobStore;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> new Thread(runnable, "blob-upload-" + sequence.incrementAndGet()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * 파일들을 동시에 저장하고 파일 순서대로 저장 결과 반환
+     * 하나라도 실패하면 나머지 작업을 취소하고 예외를 던진다.
+     */
+    public List<StoredBlob> storeAll(List<MultipartFile> files) throws IOException {
+        if (files.size() == 1) {
+            return List.of(blobStore.store(files.get(0)));
+        }
+
+        List<Future<StoredBlob>> futures = new ArrayList<>();
+
+        for (MultipartFile file : files) {
+            futures.add(executor.submit(() -> blobStore.store(file)));
+        }
+
+        List<StoredBlob> blobs = new ArrayList<>();
+
+        try {
+            for (Future<StoredBlob> future : futures) {
+                blobs.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IOException("파일 저장이 중단되었습니다.", e);
+        }
+
+        return blobs;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.firstproject.common.file;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 첨부 파일을 HTTP 응답으로 전송하는 컴포넌트
+ * Range 요청 헤더를 지원해서 중단된 다운로드를 이어받거나 파일의 일부만 받을 수 있다. (단일 범위, 여러 범위 모두 지원)
+ * 파일 내용은 힙 메모리로 읽어오지 않고 전송한다.
+ * - 톰캣이 sendfile을 지원하면 파일 경로와 범위만 넘겨서 톰캣이 운영체제의 sendfile로 직접 전송한다.
+ * - 그 외에는 FileChannel.transferTo()로 파일 채널에서 응답 스트림으로 바로 전송한다.
+ */
+@Slf4j
+@Component
+public class FileDownloader {
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final FileMetadataCache metadataCache;
+    private final long sendfileMinSize; // 작은 파일은 sendfile 준비 비용이 더 크므로 직접 전송
+
+    public FileDownloader(FileMetadataCache metadataCache,
+                          @Value("${board.file.sendfile-min-size:49152}") long sendfileMinSize) {
+        this.metadataCache = metadataCache;
+        this.sendfileMinSize = sendfileMinSize;
+    }
+
+    /**
+     * 파일을 다운로드 응답으로 전송
+     * 클라이언트가 가진 파일과 같으면 파일을 읽지 않고 304 응답
+     * Range 헤더가 없으면 200 응답으로 전체 파일, 있으면 206 응답으로 요청한 범위만 전송하고 범위가 잘못되었으면 416 응답
+     */
+    public void download(StoredFile file, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // If-None-Match, If-Modified-Since 헤더를 확인해서 바뀌지 않았으면 304 응답 (ETag, Last-Modified 헤더도 설정)
+        if (new ServletWebRequest(request, response).checkNotModified(file.getETag(), file.getLastModified())) {
+            return;
+        }
+
+        Path path = file.getPath();
+        String fileName = file.getFileName();
+        FileMetadata metadata;
+
+        try {
+            metadata = metadataCache.get(path);
+        } catch (NoSuchFileException e) {
+            // 파일이 실제로 존재하지 않으면 404 응답
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = metadata.getLength();
+        String contentType = metadataCache.getContentType(fileName);
+        // If-Range 헤더의 파일이 현재 파일과 다르면 Range 헤더를 무시하고 전체 파일 전송
+        String rangeHeader = isRangeValid(request, file) ? request.getHeader(HttpHeaders.RANGE) : null;
+        List<HttpRange> ranges = parseRanges(rangeHeader, length);
+
+        if (ranges == null) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+
+        // URLEncoder - 공백문자를 +로 인코딩
+        // HTTP Header - +가 공백이 아니라 문자 +로 해석될 수 있으므로 +를 정확한 공백 의미인 %20으로 변경
+        String encodedFilename = URLEncoder.encode(fileName, StandardCharsets.UTF_8).replaceAll("\\+", "%20");
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // filename*=UTF-8'' : 브라우저가 UTF-8 인코딩 파일명을 제대로 해석하게 함
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename*=UTF-8''" + encodedFilename);
+
+        boolean sendBody = !"HEAD".equals(request.getMethod());
+
+        if (ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType);
+            response.setContentLengthLong(length);
+
+            if (sendBody) {
+                send(path, 0, length, request, response);
+            }
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+
+        if (ranges.size() == 1) {
+            long start = ranges.get(0).getRangeStart(length);
+            long end = ranges.get(0).getRangeEnd(length);
+
+            response.setContentType(contentType);
+            response.setContentLengthLong(end - start + 1);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+
+            if (sendBody) {
+                send(path, start, end - start + 1, request, response);
+            }
+            return;
+        }
+
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+
+        if (sendBody) {
+            sendMultipart(path, ranges, length, contentType, boundary, response);
+        }
+    }
+
+    /**
+     * If-Range 헤더가 없거나 ETag 또는 수정 시각이 현재 파일과 같은지 확인
+     */
+    private boolean isRangeValid(HttpServletRequest request, StoredFile file) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+
+        if (ifRange == null) {
+            return true;
+        }
+
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(file.getETag());
+        }
+
+        try {
+            // HTTP 날짜는 초 단위까지만 표시되므로 초 단위로 비교
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == file.getLastModified() / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Range 헤더를 해석해서 요청한 범위 목록 반환 (Range 헤더가 없으면 빈 목록, 만족할 수 없는 범위면 null)
+     * 겹치는 범위를 여러 번 요청해서 파일보다 큰 응답을 만드는 요청도 거부한다.
+     */
+    private List<HttpRange> parseRanges(String header, long length) {
+        if (header == null) {
+            return List.of();
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            long total = 0;
+
+            for (HttpRange range : ranges) {
+                total += range.getRangeEnd(length) - range.getRangeStart(length) + 1;
+            }
+
+            return total > length ? null : ranges;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 파일의 start 위치부터 count 바이트를 전송
+     */
+    private void send(Path path, long start, long count,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (count >= sendfileMinSize && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 응답 본문을 쓰지 않고 파일 경로와 범위만 설정하면 요청 처리가 끝난 다음 톰캣이 sendfile로 전송한다.
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            transfer(channel, start, count, Channels.newChannel(response.getOutputStream()));
+        }
+    }
+
+    /**
+     * 여러 범위를 multipart/byteranges 형식으로 전송 (범위마다 Content-Type, Content-Range 헤더를 붙인다)
+     */
+    private void sendMultipart(Path path, List<HttpRange> ranges, long length, String contentType,
+                               String boundary, HttpServletResponse response) throws IOException {
+        OutputStream out = response.getOutputStream();
+        WritableByteChannel target = Channels.newChannel(out);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (HttpRange range : ranges) {
+                long start = range.getRangeStart(length);
+                long end = range.getRangeEnd(length);
+
+                String partHeader = "\r\n--" + boundary + "\r\n"
+                        + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                        + HttpHeaders.CONTENT_RANGE + ": bytes " + start + "-" + end + "/" + length + "\r\n\r\n";
+
+                out.write(partHeader.getBytes(StandardCharsets.US_ASCII));
+                transfer(channel, start, end - start + 1, target);
+            }
+        }
+
+        out.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * transferTo()는 요청한 크기보다 적게 전송할 수 있으므로 모두 전송할 때까지 반복
+     */
+    private void transfer(FileChannel channel, long position, long count, WritableByteChannel target) throws IOException {
+        while (count > 0) {
+            long transferred = channel.transferTo(position, count, target);
+
+            if (transferred <= 0) {
+                throw new IOException("파일이 전송 중에 변경되었습니다. position=" + position);
+            }
+
+            position += transferred;
+            count -= transferred;
+        }
+    }
+}
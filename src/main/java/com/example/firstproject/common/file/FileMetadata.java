@@ -0,0 +1,14 @@
+package com.example.firstproject.common.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 다운로드 응답에 필요한 파일 정보 (파일 크기, 수정 시각)
+ */
+@Getter
+@AllArgsConstructor
+public class FileMetadata {
+    private long length;
+    private long lastModified;
+}
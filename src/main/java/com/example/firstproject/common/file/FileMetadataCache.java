@@ -0,0 +1,89 @@
+package com.example.firstproject.common.file;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 다운로드할 때마다 파일 크기를 조회하고 MIME 타입을 추측(probeContentType)하지 않도록 파일 정보를 메모리에 보관하는 캐시
+ * 첨부 파일은 내용의 해시로 저장되어 한 번 저장된 파일의 내용은 바뀌지 않으므로 저장 경로를 키로 사용한다.
+ * 최근에 사용한 순서로 정해진 개수까지만 보관하고, MIME 타입은 확장자별로 따로 보관한다.
+ * 같은 내용의 파일이 다른 이름으로 첨부될 수 있으므로 MIME 타입은 저장 경로에 묶지 않고 요청마다 원본 파일명으로 구한다.
+ */
+@Component
+public class FileMetadataCache {
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+
+    private final Map<String, FileMetadata> cache;
+    private final Map<String, String> contentTypes = new ConcurrentHashMap<>(); // 확장자 -> MIME 타입
+
+    public FileMetadataCache(@Value("${board.file.metadata-cache-size:10000}") int maxSize) {
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, FileMetadata> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * 파일 정보 반환 (캐시에 없으면 파일 속성을 읽어서 저장)
+     */
+    public FileMetadata get(Path path) throws IOException {
+        String key = path.toString();
+
+        synchronized (cache) {
+            FileMetadata metadata = cache.get(key);
+
+            if (metadata != null) {
+                return metadata;
+            }
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        FileMetadata metadata = new FileMetadata(attributes.size(), attributes.lastModifiedTime().toMillis());
+
+        synchronized (cache) {
+            cache.put(key, metadata);
+        }
+
+        return metadata;
+    }
+
+    /**
+     * 삭제된 파일의 정보를 캐시에서 제거
+     */
+    public void evict(Path path) {
+        synchronized (cache) {
+            cache.remove(path.toString());
+        }
+    }
+
+    /**
+     * 파일 이름의 확장자로 MIME 타입 반환
+     * 저장된 파일에는 확장자가 없으므로 원본 파일명을 전달한다.
+     */
+    public String getContentType(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        String extension = dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+
+        return contentTypes.computeIfAbsent(extension, ext -> {
+            try {
+                // Files.probeContentType()는 OS 및 파일 확장자를 기반으로 MIME 타입을 추측하고, 감지에 실패하면 null 반환
+                String contentType = Files.probeContentType(Paths.get("file." + ext));
+                return contentType != null ? contentType : DEFAULT_CONTENT_TYPE;
+            } catch (IOException e) {
+                return DEFAULT_CONTENT_TYPE;
+            }
+        });
+    }
+}
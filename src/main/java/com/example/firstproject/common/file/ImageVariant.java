@@ -0,0 +1,41 @@
+package com.example.firstproject.common.file;
+
+import lombok.Getter;
+
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * 이미지 첨부 파일의 축소본 종류
+ * 원본을 내려받지 않고도 게시글 화면에서 미리보기를 보여줄 수 있도록 긴 변을 maxSize 픽셀로 줄인 이미지를 만든다.
+ */
+@Getter
+public enum ImageVariant {
+    THUMBNAIL(200), PREVIEW(1024);
+
+    private final int maxSize; // 긴 변의 최대 픽셀 수
+
+    ImageVariant(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 요청 파라미터와 파일 이름에 사용하는 이름 (예: thumbnail)
+     */
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 이름에 해당하는 축소본 종류 반환 (지원하지 않는 이름이면 빈 값)
+     */
+    public static Optional<ImageVariant> find(String name) {
+        for (ImageVariant variant : values()) {
+            if (variant.getName().equalsIgnoreCase(name)) {
+                return Optional.of(variant);
+            }
+        }
+
+        return Optional.empty();
+    }
+}
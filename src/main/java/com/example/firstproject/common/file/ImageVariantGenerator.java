@@ -0,0 +1,283 @@
+package com.example.firstproject.common.file;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 이미지 첨부 파일의 축소본(썸네일, 미리보기)을 만드는 컴포넌트
+ * 이미지를 줄이는 작업은 오래 걸리므로 업로드 요청 스레드에서 처리하지 않고 정해진 수의 스레드에서 처리한다.
+ * 대기열이 가득 차면 요청 스레드가 기다리거나 대신 처리하지 않고 작업을 버린다. (업로드가 몰려도 요청 스레드가 밀리지 않도록)
+ * 버려진 작업은 축소본을 처음 요청할 때 다시 요청하고, 축소본이 만들어지기 전에는 원본을 보낸다.
+ * 축소본을 만들지 못한 이미지는 일정 시간(failure-ttl) 동안 다시 시도하지 않고, 기록은 최대 max-failures개까지만 보관한다.
+ */
+@Slf4j
+@Component
+public class ImageVariantGenerator {
+    private final BlobStore blobStore;
+    private final FileMetadataCache metadataCache;
+    private final long maxPixels; // 이보다 큰 이미지는 메모리를 많이 사용하므로 축소본을 만들지 않는다.
+    private final long failureTtlMillis;
+    private final int maxFailures;
+    private final ThreadPoolExecutor executor;
+
+    private final Set<String> queued = ConcurrentHashMap.newKeySet(); // 같은 이미지를 여러 번 처리하지 않도록 대기 중인 작업 기록
+    private final Map<String, Long> failed = new ConcurrentHashMap<>(); // 축소본을 만들지 못한 이미지 -> 다시 시도할 수 있는 시각
+
+    public ImageVariantGenerator(BlobStore blobStore, FileMetadataCache metadataCache,
+                                 @Value("${board.image.threads:2}") int threads,
+                                 @Value("${board.image.queue-size:100}") int queueSize,
+                                 @Value("${board.image.max-pixels:40000000}") long maxPixels,
+                                 @Value("${board.image.failure-ttl:1h}") Duration failureTtl,
+                                 @Value("${board.image.max-failures:10000}") int maxFailures) {
+        AtomicInteger sequence = new AtomicInteger();
+
+        this.blobStore = blobStore;
+        this.metadataCache = metadataCache;
+        this.maxPixels = maxPixels;
+        this.failureTtlMillis = failureTtl.toMillis();
+        this.maxFailures = maxFailures;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + sequence.incrementAndGet());
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+    }
+
+    /**
+     * blob 이미지의 축소본 생성 요청 (대기열이 가득 차면 버린다)
+     */
+    public void submit(String hash) {
+        if (isFailed(hash) || !queued.add(hash)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(hash);
+                } finally {
+                    queued.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.remove(hash);
+            log.debug("image variant queue is full. hash={}", hash);
+        }
+    }
+
+    /**
+     * 다운로드할 이미지 축소본 반환
+     * 이미지가 아니거나 blob 저장소 도입 전에 업로드된 파일이면 원본을, 축소본이 아직 없으면 생성을 요청하고 원본을 반환한다.
+     */
+    public StoredFile resolve(StoredFile file, ImageVariant variant) {
+        if (file.getHash() == null || !metadataCache.getContentType(file.getFileName()).startsWith("image/")) {
+            return file;
+        }
+
+        Path variantPath = blobStore.resolveVariant(file.getHash(), variant);
+
+        if (Files.exists(variantPath)) {
+            return file.toVariant(variantPath, variant);
+        }
+
+        submit(file.getHash());
+        return file;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 최근에 축소본을 만들지 못한 이미지이면 true 반환 (다시 시도할 수 있는 시각이 지났으면 기록 삭제)
+     */
+    private boolean isFailed(String hash) {
+        Long retryAt = failed.get(hash);
+
+        if (retryAt == null) {
+            return false;
+        }
+
+        if (retryAt > System.currentTimeMillis()) {
+            return true;
+        }
+
+        failed.remove(hash, retryAt);
+        return false;
+    }
+
+    /**
+     * 축소본을 만들지 못한 이미지 기록
+     * 기록이 최대치를 넘으면 다시 시도할 수 있는 기록을 먼저 지우고, 그래도 넘으면 모두 지운다. (다시 시도할 뿐이므로 기록이 없어져도 문제 없다)
+     */
+    private void markFailed(String hash) {
+        long now = System.currentTimeMillis();
+
+        if (failed.size() >= maxFailures) {
+            failed.values().removeIf(retryAt -> retryAt <= now);
+
+            if (failed.size() >= maxFailures) {
+                failed.clear();
+            }
+        }
+
+        failed.put(hash, now + failureTtlMillis);
+    }
+
+    /**
+     * 원본 이미지를 한 번 읽어서 모든 축소본 생성
+     * 큰 이미지는 픽셀을 건너뛰며 읽어서(subsampling) 가장 큰 축소본에 필요한 만큼만 메모리에 올린다.
+     */
+    private void generate(String hash) {
+        Path original = blobStore.resolve(hash);
+
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+
+            if (readers == null || !readers.hasNext()) {
+                markFailed(hash);
+                return;
+            }
+
+            ImageReader reader = readers.next();
+
+            try {
+                reader.setInput(in, true, true);
+
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+
+                if ((long) width * height > maxPixels) {
+                    log.info("image is too large to make variants. hash={}, size={}x{}", hash, width, height);
+                    markFailed(hash);
+                    return;
+                }
+
+                int largest = 0;
+
+                for (ImageVariant variant : ImageVariant.values()) {
+                    largest = Math.max(largest, variant.getMaxSize());
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.max(width, height) / (largest * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+
+                BufferedImage image = reader.read(0, param);
+                String format = reader.getFormatName();
+
+                for (ImageVariant variant : ImageVariant.values()) {
+                    write(hash, original, image, Math.max(width, height), variant, format);
+                }
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("이미지 축소본 생성 실패. hash={}", hash, e);
+            markFailed(hash);
+        }
+    }
+
+    private void write(String hash, Path original, BufferedImage image, int originalSize,
+                       ImageVariant variant, String format) throws IOException {
+        Path target = blobStore.resolveVariant(hash, variant);
+
+        if (Files.exists(target)) {
+            return;
+        }
+
+        // 원본이 축소본보다 작으면 원본을 그대로 사용 (하드 링크로 디스크를 사용하지 않는다)
+        if (originalSize <= variant.getMaxSize()) {
+            try {
+                Files.createLink(target, original);
+            } catch (FileAlreadyExistsException e) {
+                // 다른 스레드가 먼저 만든 경우
+            } catch (UnsupportedOperationException | IOException e) {
+                Files.copy(original, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return;
+        }
+
+        double ratio = (double) variant.getMaxSize() / Math.max(image.getWidth(), image.getHeight());
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        // JPEG는 투명도를 저장할 수 없으므로 투명도가 없는 이미지로 만든다.
+        boolean alpha = image.getColorModel().hasAlpha() && !format.equalsIgnoreCase("jpeg");
+
+        BufferedImage scaled = scale(image, width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Path temp = blobStore.getIncoming().resolve(UUID.randomUUID() + ".part");
+
+        try {
+            if (!ImageIO.write(scaled, format, temp.toFile())) {
+                throw new IOException("이미지를 저장할 수 없는 형식입니다. format=" + format);
+            }
+
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 한 번에 많이 줄이면 이미지가 거칠어지므로 목표 크기의 두 배가 될 때까지 절반씩 줄인 다음 목표 크기로 줄인다.
+     */
+    private BufferedImage scale(BufferedImage image, int width, int height, int type) {
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+
+            if (currentWidth < width * 2 || currentHeight < height * 2) {
+                currentWidth = width;
+                currentHeight = height;
+            }
+
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+
+        return current;
+    }
+}
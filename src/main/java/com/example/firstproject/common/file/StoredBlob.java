@@ -0,0 +1,15 @@
+package com.example.firstproject.common.file;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 저장소에 저장된 파일 내용(blob)의 해시, 크기, 저장 경로
+ */
+@Getter
+@AllArgsConstructor
+public class StoredBlob {
+    private String hash;
+    private long size;
+    private String path;
+}
@@ -0,0 +1,45 @@
+package com.example.firstproject.common.file;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 다운로드할 첨부 파일의 저장 경로, 원본 파일명과 HTTP 캐시 검증에 사용하는 ETag, 수정 시각
+ * 저장된 파일의 내용은 바뀌지 않으므로 파일을 읽지 않고 내용의 해시와 업로드 시각으로 strong ETag를 만든다.
+ */
+@Getter
+public class StoredFile {
+    private final Path path;
+    private final String fileName;
+    private final String hash; // blob 저장소 도입 전에 업로드된 파일은 null
+    private final String eTag;
+    private final long lastModified; // 업로드 시각 (epoch millis, 알 수 없으면 -1)
+
+    public StoredFile(Path path, String fileName, String hash, LocalDateTime uploadedAt) {
+        this.path = path;
+        this.fileName = fileName;
+        this.hash = hash;
+        this.lastModified = uploadedAt != null ? uploadedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+        // blob 저장소 도입 전에 업로드된 파일은 해시가 없으므로 업로드 시각만 사용
+        this.eTag = "\"" + (hash != null ? hash : "legacy") + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    private StoredFile(Path path, String fileName, String hash, String eTag, long lastModified) {
+        this.path = path;
+        this.fileName = fileName;
+        this.hash = hash;
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * 이미지 축소본을 다운로드하기 위한 파일 정보 반환 (원본과 다른 ETag 사용)
+     */
+    public StoredFile toVariant(Path variantPath, ImageVariant variant) {
+        String variantETag = eTag.substring(0, eTag.length() - 1) + "-" + variant.getName() + "\"";
+        return new StoredFile(variantPath, fileName, hash, variantETag, lastModified);
+    }
+}
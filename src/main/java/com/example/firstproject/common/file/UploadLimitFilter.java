@@ -0,0 +1,74 @@
+package com.example.firstproject.common.file;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파일 업로드 요청의 크기와 동시에 처리하는 업로드 수를 제한하는 필터
+ * 멀티파트 요청은 컨트롤러에 도착하기 전에 모든 파일이 디스크에 임시 저장되므로 요청 본문을 읽기 전인 필터에서 확인한다.
+ * - Content-Length가 최대 요청 크기를 넘으면 본문을 읽지 않고 413 응답
+ * - 동시에 처리 중인 업로드가 최대치면 잠시 기다리고, 그래도 처리할 수 없으면 503 응답
+ */
+@Slf4j
+public class UploadLimitFilter extends OncePerRequestFilter {
+    private final long maxRequestSize;
+    private final Semaphore permits;
+    private final long waitMillis;
+
+    public UploadLimitFilter(long maxRequestSize, int maxConcurrentUploads, long waitMillis) {
+        this.maxRequestSize = maxRequestSize;
+        this.permits = new Semaphore(maxConcurrentUploads);
+        this.waitMillis = waitMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+
+        return !HttpMethod.POST.matches(request.getMethod())
+                || contentType == null
+                || !contentType.toLowerCase().startsWith("multipart/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // Content-Length가 없는 요청(chunked)은 멀티파트를 해석할 때 최대 요청 크기를 확인한다.
+        if (request.getContentLengthLong() > maxRequestSize) {
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+
+        boolean acquired;
+
+        try {
+            acquired = permits.tryAcquire(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            log.warn("too many concurrent uploads. uri={}", request.getRequestURI());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.firstproject.common.job;
+
+import com.example.firstproject.domain.DeleteTarget;
+import com.example.firstproject.domain.jpa.DeleteJobEntity;
+import com.example.firstproject.service.jpa.JpaContentDeleteService;
+import com.example.firstproject.service.jpa.JpaDeleteJobService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 등록된 삭제 작업을 별도 스레드에서 실행하는 컴포넌트
+ * 삭제 작업끼리 같은 테이블에 락 경합을 일으키지 않도록 하나의 스레드에서 요청 순으로 실행하고,
+ * 묶음(chunk)마다 커밋하면서 처리한 건수를 기록한다.
+ * 애플리케이션이 종료되어 끝나지 않은 작업은 다음 시작시 이어서 실행한다. (이미 삭제된 데이터는 다시 조회되지 않으므로 남은 데이터만 삭제)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeleteJobRunner {
+    private final JpaDeleteJobService deleteJobService;
+    private final JpaContentDeleteService contentDeleteService;
+
+    @Value("${board.delete-job.chunk-size:500}")
+    private int chunkSize;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "delete-job"));
+
+    /**
+     * 작업 실행 요청 (작업을 등록한 트랜잭션이 커밋된 다음 호출)
+     */
+    public void submit(Long jobId) {
+        executor.execute(() -> run(jobId));
+    }
+
+    /**
+     * 애플리케이션 시작시 끝나지 않은 작업을 이어서 실행
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        for (Long jobId : deleteJobService.getUnfinishedJobIds()) {
+            log.info("resume delete job. jobId={}", jobId);
+            submit(jobId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow(); // 실행 중인 작업은 실행 중 상태로 남아서 다음 시작시 이어서 실행
+    }
+
+    private void run(Long jobId) {
+        DeleteJobEntity job = deleteJobService.getJob(jobId);
+
+        if (job.isFinished()) {
+            return;
+        }
+
+        try {
+            if (job.getTarget() == DeleteTarget.MEMBER) {
+                deleteMember(jobId, job.getTargetId());
+            } else {
+                deletePost(jobId, job.getTargetId());
+            }
+
+            deleteJobService.complete(jobId);
+            log.info("delete job completed. jobId={}, target={}, targetId={}", jobId, job.getTarget(), job.getTargetId());
+        } catch (RuntimeException e) {
+            log.error("delete job failed. jobId={}", jobId, e);
+            deleteJobService.fail(jobId, e.getMessage());
+        }
+    }
+
+    private void deleteMember(Long jobId, Long memberId) {
+        deleteJobService.start(jobId, contentDeleteService.getMemberPostCount(memberId));
+
+        int deleted;
+
+        while ((deleted = contentDeleteService.deleteMemberPosts(memberId, chunkSize)) > 0) {
+            deleteJobService.addProcessedCnt(jobId, deleted);
+        }
+
+        contentDeleteService.finishMemberDelete(memberId);
+    }
+
+    private void deletePost(Long jobId, Long postId) {
+        deleteJobService.start(jobId, contentDeleteService.getPostCommentCount(postId));
+
+        int deleted;
+
+        while ((deleted = contentDeleteService.deletePostComments(postId, chunkSize)) > 0) {
+            deleteJobService.addProcessedCnt(jobId, deleted);
+        }
+
+        contentDeleteService.finishPostDelete(postId);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.firstproject.common.search;
+
+import com.example.firstproject.domain.jpa.PostEntity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 검색 색인에 저장할 게시글 정보
+ */
+@Getter
+@AllArgsConstructor
+public class PostDocument {
+    private Long id;
+    private Long memberId;
+    private String title;
+    private String content;
+    private String nickname;
+
+    public static PostDocument from(PostEntity post) {
+        return new PostDocument(post.getId(), post.getMember().getId(), post.getTitle(), post.getContent(), post.getMember().getNickname());
+    }
+}
@@ -0,0 +1,385 @@
+package com.example.firstproject.common.search;
+
+import com.example.firstproject.repository.post.JpaPostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 게시글 검색을 위한 메모리 역색인 (글자 조각 -> 게시글 목록)
+ * like '%keyword%' 검색은 인덱스를 사용할 수 없어 매번 전체 게시글을 읽으므로 글자 조각별로 해당 조각이 포함된 게시글 목록(posting list)과 위치를 유지한다.
+ * 애플리케이션 시작시 전체 게시글로 색인을 만들고, 이후 게시글 작성/수정/삭제시 트랜잭션이 커밋된 다음 색인을 갱신한다.
+ * 색인이 준비되기 전에는 검색 결과로 null을 반환하고 기존의 like 검색을 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostSearchIndex {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final Tokenizer tokenizer;
+    private final JpaPostRepository postRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 필드 -> 글자 조각 -> 게시글 식별자 -> 조각이 나타난 위치 (오름차순)
+    private final Map<SearchField, Map<String, Map<Long, int[]>>> postings = new EnumMap<>(SearchField.class);
+    private final Map<Long, IndexedPost> posts = new HashMap<>();
+    private final Map<Long, Set<Long>> postIdsByMember = new HashMap<>();
+    // 색인 생성 중에 삭제된 게시글과 회원, 이미 읽어둔 게시글이 다시 색인되지 않도록 기록
+    private final Set<Long> removedWhileRebuilding = new HashSet<>();
+    private final Set<Long> removedMembersWhileRebuilding = new HashSet<>();
+    // 색인 생성 중에 작성/수정된 게시글과 닉네임이 바뀐 회원, 먼저 읽어둔 예전 내용이 새로운 내용을 덮어쓰지 않도록 기록
+    private final Set<Long> indexedWhileRebuilding = new HashSet<>();
+    private final Map<Long, String> renamedWhileRebuilding = new HashMap<>();
+    private volatile boolean ready = false;
+
+    /**
+     * 전체 게시글을 식별자 순으로 나누어 읽으면서 색인 생성
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        Long lastId = 0L;
+        int count = 0;
+
+        while (true) {
+            List<PostDocument> documents = postRepository.findDocuments(lastId, REBUILD_BATCH_SIZE);
+
+            if (documents.isEmpty()) {
+                break;
+            }
+
+            lock.writeLock().lock();
+
+            try {
+                for (PostDocument document : documents) {
+                    if (!removedWhileRebuilding.contains(document.getId())
+                            && !removedMembersWhileRebuilding.contains(document.getMemberId())
+                            && !indexedWhileRebuilding.contains(document.getId())) {
+                        add(document);
+
+                        String nickname = renamedWhileRebuilding.get(document.getMemberId());
+
+                        if (nickname != null) {
+                            replaceWriter(document.getId(), nickname);
+                        }
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            count += documents.size();
+            lastId = documents.get(documents.size() - 1).getId();
+        }
+
+        lock.writeLock().lock();
+
+        try {
+            removedWhileRebuilding.clear();
+            removedMembersWhileRebuilding.clear();
+            indexedWhileRebuilding.clear();
+            renamedWhileRebuilding.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        log.info("post search index ready. posts={}, elapsed={}ms", count, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 게시글 색인 (이미 색인된 게시글이면 새로운 내용으로 교체)
+     */
+    public void index(PostDocument document) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+
+            try {
+                if (!ready) {
+                    indexedWhileRebuilding.add(document.getId());
+                }
+
+                add(document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 게시글을 색인에서 제거
+     */
+    public void remove(Long postId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+
+            try {
+                if (!ready) {
+                    removedWhileRebuilding.add(postId);
+                }
+
+                delete(postId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 회원이 작성한 모든 게시글을 색인에서 제거
+     */
+    public void removeMember(Long memberId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+
+            try {
+                if (!ready) {
+                    removedMembersWhileRebuilding.add(memberId);
+                }
+
+                for (Long postId : new ArrayList<>(postIdsByMember.getOrDefault(memberId, Set.of()))) {
+                    delete(postId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 회원의 닉네임이 변경되었을 때 회원이 작성한 게시글의 작성자 색인을 갱신
+     */
+    public void updateWriter(Long memberId, String nickname) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+
+            try {
+                if (!ready) {
+                    renamedWhileRebuilding.put(memberId, nickname);
+                }
+
+                for (Long postId : postIdsByMember.getOrDefault(memberId, Set.of())) {
+                    replaceWriter(postId, nickname);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 검색어를 부분 문자열로 포함하는 게시글을 관련도 순으로 정렬하여 해당 페이지의 게시글 식별자와 전체 검색 결과 수 반환
+     * memberId가 null이 아니면 해당 회원이 작성한 게시글에서만 검색
+     * 색인이 준비되지 않았거나 색인으로 검색할 수 없는 검색어이면 null 반환
+     */
+    public SearchResult search(SearchField field, String keyword, Long memberId, int offset, int limit) {
+        if (!ready || !tokenizer.isSearchable(keyword)) {
+            return null;
+        }
+
+        List<Token> grams = cover(tokenizer.tokenize(keyword));
+
+        lock.readLock().lock();
+
+        try {
+            Map<String, Map<Long, int[]>> fieldPostings = postings.get(field);
+            List<Map<Long, int[]>> postingLists = new ArrayList<>();
+
+            for (Token gram : grams) {
+                Map<Long, int[]> postingList = fieldPostings == null ? null : fieldPostings.get(gram.getTerm());
+
+                if (postingList == null) {
+                    return new SearchResult(List.of(), 0);
+                }
+
+                postingLists.add(postingList);
+            }
+
+            // 가장 짧은 목록을 기준으로 후보를 정해서 검색 시간이 결과 수에 비례하도록 처리
+            int anchor = 0;
+
+            for (int i = 1; i < postingLists.size(); i++) {
+                if (postingLists.get(i).size() < postingLists.get(anchor).size()) {
+                    anchor = i;
+                }
+            }
+
+            Map<Long, int[]> anchorList = postingLists.get(anchor);
+            int anchorOffset = grams.get(anchor).getPosition();
+            double idf = Math.log(1 + (double) posts.size() / anchorList.size());
+            Map<Long, Double> scores = new HashMap<>();
+
+            for (Map.Entry<Long, int[]> entry : anchorList.entrySet()) {
+                Long postId = entry.getKey();
+
+                if (memberId != null && !memberId.equals(posts.get(postId).memberId)) {
+                    continue;
+                }
+
+                int matches = 0;
+
+                for (int anchorPosition : entry.getValue()) {
+                    int start = anchorPosition - anchorOffset;
+
+                    if (start >= 0 && matchesAt(postId, start, grams, postingLists)) {
+                        matches++;
+                    }
+                }
+
+                if (matches > 0) {
+                    scores.put(postId, matches * idf);
+                }
+            }
+
+            List<Long> postIds = scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                    .skip(offset)
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            return new SearchResult(postIds, scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어의 모든 글자를 덮는 최소한의 조각만 남긴다. (예: "게시판검색" -> "게시", "판검", "검색")
+     * 각 조각이 정해진 간격으로 모두 나타나면 검색어 전체가 그 위치에 있는 것이므로 겹치는 조각은 확인할 필요가 없다.
+     */
+    private List<Token> cover(List<Token> grams) {
+        List<Token> covering = new ArrayList<>();
+
+        for (int i = 0; i < grams.size(); i += Tokenizer.GRAM_SIZE) {
+            covering.add(grams.get(i));
+        }
+
+        Token last = grams.get(grams.size() - 1);
+
+        if (covering.get(covering.size() - 1) != last) {
+            covering.add(last);
+        }
+
+        return covering;
+    }
+
+    /**
+     * 게시글의 start 위치에서 검색어의 모든 조각이 검색어와 같은 간격으로 나타나는지 확인
+     */
+    private boolean matchesAt(Long postId, int start, List<Token> grams, List<Map<Long, int[]>> postingLists) {
+        for (int i = 0; i < grams.size(); i++) {
+            int[] positions = postingLists.get(i).get(postId);
+
+            if (positions == null || Arrays.binarySearch(positions, start + grams.get(i).getPosition()) < 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void add(PostDocument document) {
+        delete(document.getId());
+
+        IndexedPost post = new IndexedPost(document.getMemberId());
+        post.terms.put(SearchField.TITLE, addTerms(document.getId(), SearchField.TITLE, document.getTitle()));
+        post.terms.put(SearchField.CONTENT, addTerms(document.getId(), SearchField.CONTENT, document.getContent()));
+        post.terms.put(SearchField.WRITER, addTerms(document.getId(), SearchField.WRITER, document.getNickname()));
+
+        posts.put(document.getId(), post);
+        postIdsByMember.computeIfAbsent(document.getMemberId(), id -> new HashSet<>()).add(document.getId());
+    }
+
+    /**
+     * 게시글의 작성자 색인을 새로운 닉네임으로 교체
+     */
+    private void replaceWriter(Long postId, String nickname) {
+        IndexedPost post = posts.get(postId);
+        removeTerms(postId, SearchField.WRITER, post.terms.get(SearchField.WRITER));
+        post.terms.put(SearchField.WRITER, addTerms(postId, SearchField.WRITER, nickname));
+    }
+
+    private void delete(Long postId) {
+        IndexedPost post = posts.remove(postId);
+
+        if (post == null) {
+            return;
+        }
+
+        post.terms.forEach((field, terms) -> removeTerms(postId, field, terms));
+
+        Set<Long> memberPostIds = postIdsByMember.get(post.memberId);
+        memberPostIds.remove(postId);
+
+        if (memberPostIds.isEmpty()) {
+            postIdsByMember.remove(post.memberId);
+        }
+    }
+
+    /**
+     * 조각별 위치를 모아서 posting list에 추가하고 게시글에 색인된 조각 목록 반환
+     */
+    private Set<String> addTerms(Long postId, SearchField field, String text) {
+        Map<String, List<Integer>> positionsByTerm = new HashMap<>();
+
+        for (Token token : tokenizer.tokenize(text)) {
+            positionsByTerm.computeIfAbsent(token.getTerm(), term -> new ArrayList<>()).add(token.getPosition());
+        }
+
+        Map<String, Map<Long, int[]>> fieldPostings = postings.computeIfAbsent(field, f -> new HashMap<>());
+
+        positionsByTerm.forEach((term, positions) -> fieldPostings
+                .computeIfAbsent(term, t -> new HashMap<>())
+                .put(postId, positions.stream().mapToInt(Integer::intValue).toArray()));
+
+        return positionsByTerm.keySet();
+    }
+
+    private void removeTerms(Long postId, SearchField field, Set<String> terms) {
+        Map<String, Map<Long, int[]>> fieldPostings = postings.get(field);
+
+        for (String term : terms) {
+            Map<Long, int[]> postingList = fieldPostings.get(term);
+            postingList.remove(postId);
+
+            if (postingList.isEmpty()) {
+                fieldPostings.remove(term);
+            }
+        }
+    }
+
+    /**
+     * 트랜잭션이 롤백되면 색인에 반영되지 않도록 커밋된 다음 실행
+     */
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    private static class IndexedPost {
+        private final Long memberId;
+        private final Map<SearchField, Set<String>> terms = new EnumMap<>(SearchField.class);
+
+        private IndexedPost(Long memberId) {
+            this.memberId = memberId;
+        }
+    }
+}
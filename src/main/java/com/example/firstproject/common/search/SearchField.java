@@ -0,0 +1,28 @@
+package com.example.firstproject.common.search;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 검색 색인의 필드, SearchCondition 의 검색 옵션(C, T, W)과 대응
+ */
+@Getter
+@RequiredArgsConstructor
+public enum SearchField {
+    CONTENT("C"), TITLE("T"), WRITER("W");
+
+    private final String option;
+
+    /**
+     * 검색 옵션에 해당하는 필드 반환, 색인으로 처리할 수 없는 옵션이면 null 반환
+     */
+    public static SearchField from(String option) {
+        for (SearchField field : values()) {
+            if (field.option.equals(option)) {
+                return field;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.firstproject.common.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 검색 결과, 관련도 순으로 정렬된 해당 페이지의 게시글 식별자와 전체 검색 결과 수
+ */
+@Getter
+@AllArgsConstructor
+public class SearchResult {
+    private List<Long> postIds;
+    private int totalCnt;
+}
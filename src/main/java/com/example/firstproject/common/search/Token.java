@@ -0,0 +1,14 @@
+package com.example.firstproject.common.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 토크나이저가 만든 색인 단위(글자 조각)와 문장 내 시작 위치
+ */
+@Getter
+@AllArgsConstructor
+public class Token {
+    private String term;
+    private int position;
+}
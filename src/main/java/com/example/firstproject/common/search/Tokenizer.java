@@ -0,0 +1,45 @@
+package com.example.firstproject.common.search;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 게시글 제목, 내용, 작성자를 색인 단위로 나누는 토크나이저
+ * 한글은 띄어쓰기 없이 단어가 붙어 쓰이는 경우가 많아서 단어 단위로 나누면 복합어 안의 단어를 찾을 수 없다.
+ * 그래서 소문자로 변환한 문장을 공백까지 포함하여 두 글자씩(bigram) 나누고 각 조각의 시작 위치(글자 위치)를 함께 기록한다.
+ * 검색어의 조각들이 같은 간격으로 연속해서 나타나는지 확인하면 like '%keyword%' 와 같은 부분 문자열 검색이 된다.
+ */
+@Component
+public class Tokenizer {
+    public static final int GRAM_SIZE = 2;
+
+    public List<Token> tokenize(String text) {
+        List<Token> tokens = new ArrayList<>();
+
+        if (text == null) {
+            return tokens;
+        }
+
+        String normalized = normalize(text);
+
+        for (int i = 0; i + GRAM_SIZE <= normalized.length(); i++) {
+            tokens.add(new Token(normalized.substring(i, i + GRAM_SIZE), i));
+        }
+
+        return tokens;
+    }
+
+    /**
+     * 색인으로 검색할 수 있는 검색어인지 확인 (한 글자 검색어는 조각을 만들 수 없으므로 like 검색 사용)
+     */
+    public boolean isSearchable(String keyword) {
+        return keyword != null && keyword.length() >= GRAM_SIZE;
+    }
+
+    private String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
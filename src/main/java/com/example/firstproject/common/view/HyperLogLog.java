@@ -0,0 +1,93 @@
+package com.example.firstproject.common.view;
+
+/**
+ * 게시글별 순 조회자 수를 근사하는 HyperLogLog 스케치 연산
+ * 스케치는 레지스터 하나를 1바이트로 저장한 256바이트 배열이고, 조회자가 아무리 많아도 크기가 변하지 않는다. (표준 오차 약 6.5%)
+ * 같은 조회자를 여러 번 추가해도 결과가 같고 두 스케치는 레지스터별 최댓값으로 합칠 수 있으므로
+ * 메모리에 모아둔 스케치를 여러 번 반영해도 값이 늘어나지 않는다.
+ */
+public final class HyperLogLog {
+    private static final int PRECISION = 8;
+    public static final int SIZE = 1 << PRECISION; // 레지스터 수 (바이트)
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / SIZE);
+
+    private HyperLogLog() {
+    }
+
+    public static byte[] newSketch() {
+        return new byte[SIZE];
+    }
+
+    /**
+     * 해시 값 하나를 스케치에 추가하고, 레지스터가 바뀌었으면 true 반환
+     * 상위 PRECISION 비트로 레지스터를 고르고 나머지 비트의 선행 0의 개수 + 1을 기록한다.
+     */
+    public static boolean add(byte[] sketch, long hash) {
+        int index = (int) (hash >>> (Long.SIZE - PRECISION));
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << PRECISION), Long.SIZE - PRECISION) + 1;
+
+        if (sketch[index] >= rank) {
+            return false;
+        }
+
+        sketch[index] = (byte) rank;
+        return true;
+    }
+
+    /**
+     * 두 스케치를 레지스터별 최댓값으로 합친 새 스케치 반환 (null은 빈 스케치로 취급)
+     */
+    public static byte[] merge(byte[] a, byte[] b) {
+        byte[] merged = newSketch();
+
+        for (int i = 0; i < SIZE; i++) {
+            merged[i] = (byte) Math.max(register(a, i), register(b, i));
+        }
+
+        return merged;
+    }
+
+    /**
+     * source 스케치를 target 스케치에 합친다.
+     */
+    public static void mergeInto(byte[] target, byte[] source) {
+        for (int i = 0; i < SIZE; i++) {
+            target[i] = (byte) Math.max(target[i], register(source, i));
+        }
+    }
+
+    /**
+     * 스케치로 순 조회자 수를 추정 (null이면 0)
+     * 추정값이 작고 빈 레지스터가 남아 있으면 linear counting으로 보정한다.
+     */
+    public static long estimate(byte[] sketch) {
+        if (sketch == null) {
+            return 0;
+        }
+
+        double sum = 0;
+        int zeros = 0;
+
+        for (int i = 0; i < SIZE; i++) {
+            int register = register(sketch, i);
+            sum += 1.0 / (1L << register);
+
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double estimate = ALPHA * SIZE * SIZE / sum;
+
+        if (estimate <= 2.5 * SIZE && zeros > 0) {
+            estimate = SIZE * Math.log((double) SIZE / zeros);
+        }
+
+        return Math.round(estimate);
+    }
+
+    private static int register(byte[] sketch, int index) {
+        return sketch == null || sketch.length != SIZE ? 0 : sketch[index];
+    }
+}
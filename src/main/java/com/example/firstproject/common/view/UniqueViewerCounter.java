@@ -0,0 +1,135 @@
+package com.example.firstproject.common.view;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 게시글별 순 조회자 수를 HyperLogLog 스케치로 모아두었다가 주기적으로 저장소의 스케치와 합치는 컴포넌트 (write-behind)
+ * 조회수와 달리 같은 조회자가 다시 조회해도 값이 늘어나지 않고, 게시글마다 고정된 크기(256바이트)만 저장한다.
+ * 스케치는 합쳐도 값이 변하지 않으므로 교체 직전에 스케치를 얻어간 요청을 위해 교체된 스케치를 다음 반영 때 한 번 더 합친다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UniqueViewerCounter {
+    private final ViewerSketchWriter viewerSketchWriter;
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private volatile Map<Long, byte[]> current = new ConcurrentHashMap<>();
+    // 직전 반영 때 교체된 스케치, 한 주기 동안 보관
+    private volatile Map<Long, byte[]> retired = new ConcurrentHashMap<>();
+
+    /**
+     * 게시글 조회자 추가 (조회자 식별자는 ViewerResolver 참고)
+     */
+    public void add(Long postId, long viewer) {
+        byte[] sketch = current.computeIfAbsent(postId, id -> HyperLogLog.newSketch());
+
+        synchronized (sketch) {
+            HyperLogLog.add(sketch, ViewerResolver.mix(viewer));
+        }
+    }
+
+    /**
+     * 저장소에서 조회한 스케치에 아직 반영되지 않은 스케치를 합쳐서 순 조회자 수를 추정
+     */
+    public long estimate(Long postId, byte[] stored) {
+        byte[] sketch = HyperLogLog.merge(stored, copy(current.get(postId)));
+
+        return HyperLogLog.estimate(HyperLogLog.merge(sketch, copy(retired.get(postId))));
+    }
+
+    /**
+     * 게시글 식별자별 저장된 스케치로 순 조회자 수를 추정 (스케치가 없는 게시글도 반영되지 않은 조회자가 있으면 추정)
+     */
+    public Map<Long, Long> estimateAll(List<Long> postIds, Map<Long, byte[]> stored) {
+        Map<Long, Long> estimates = new HashMap<>();
+
+        for (Long postId : postIds) {
+            estimates.put(postId, estimate(postId, stored.get(postId)));
+        }
+
+        return estimates;
+    }
+
+    /**
+     * 주기적으로 모아둔 스케치를 저장소에 반영
+     */
+    @Scheduled(fixedDelayString = "${board.unique-viewer.flush-interval-ms:10000}")
+    public void flush() {
+        flushLock.lock();
+
+        try {
+            doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 애플리케이션 종료시 남은 스케치 반영
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        flush(); // 교체된 스케치(retired)에 남은 조회자까지 반영
+    }
+
+    private void doFlush() {
+        Map<Long, byte[]> previous = retired;
+        Map<Long, byte[]> swapped = current;
+        current = new ConcurrentHashMap<>();
+
+        Map<Long, byte[]> sketches = new HashMap<>();
+        collect(previous, sketches);
+        collect(swapped, sketches);
+
+        retired = swapped;
+
+        if (sketches.isEmpty()) {
+            return;
+        }
+
+        try {
+            viewerSketchWriter.mergeViewerSketches(sketches);
+        } catch (RuntimeException e) {
+            // 반영에 실패한 스케치는 버리지 않고 다음 반영 때 다시 시도
+            log.warn("순 조회자 반영 실패, 다음 주기에 다시 반영합니다. posts={}", sketches.size(), e);
+            sketches.forEach((postId, sketch) -> {
+                byte[] target = current.computeIfAbsent(postId, id -> HyperLogLog.newSketch());
+
+                synchronized (target) {
+                    HyperLogLog.mergeInto(target, sketch);
+                }
+            });
+        }
+    }
+
+    private void collect(Map<Long, byte[]> source, Map<Long, byte[]> sketches) {
+        for (Map.Entry<Long, byte[]> entry : source.entrySet()) {
+            sketches.merge(entry.getKey(), copy(entry.getValue()), HyperLogLog::merge);
+        }
+    }
+
+    /**
+     * 요청 스레드가 변경 중인 스케치를 읽지 않도록 복사본 반환
+     */
+    private static byte[] copy(byte[] sketch) {
+        if (sketch == null) {
+            return null;
+        }
+
+        synchronized (sketch) {
+            return sketch.clone();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.firstproject.common.view;
+
+import com.example.firstproject.domain.dto.post.PostDetails;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 게시글 조회수를 메모리에 모아두었다가 주기적으로 한 번에 반영하는 컴포넌트 (write-behind)
+ * 조회할 때마다 update 문을 실행하면 인기 게시글의 같은 행에 락 경합이 발생하므로
+ * 게시글별 LongAdder에 조회수를 누적하고 일정 주기마다, 또는 쌓인 조회수가 최대치를 넘으면 여러 게시글을 하나의 update 문으로 반영한다.
+ * 애플리케이션 종료시에도 남은 조회수를 반영한다.
+ */
+@Slf4j
+@Component
+public class ViewCountAggregator {
+    private final ViewCountWriter viewCountWriter;
+    private final long maxPending; // 반영되지 않은 조회수의 최대치, 넘으면 주기를 기다리지 않고 바로 반영
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final LongAdder pendingTotal = new LongAdder();
+
+    private volatile Map<Long, Counter> current = new ConcurrentHashMap<>();
+    // 직전 반영 때 교체된 카운터, 교체 직전에 카운터를 얻어간 요청이 증가시킨 값을 다음 반영 때 마저 반영하기 위해 한 주기 동안 보관
+    private volatile Map<Long, Counter> retired = new ConcurrentHashMap<>();
+
+    public ViewCountAggregator(ViewCountWriter viewCountWriter,
+                               @Value("${board.view-count.max-pending:1000}") long maxPending) {
+        this.viewCountWriter = viewCountWriter;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * 게시글 조회수 1 증가
+     */
+    public void increment(Long postId) {
+        current.computeIfAbsent(postId, id -> new Counter()).adder.increment();
+        pendingTotal.increment();
+
+        if (pendingTotal.sum() >= maxPending) {
+            flushIfIdle();
+        }
+    }
+
+    /**
+     * 아직 저장소에 반영되지 않은 게시글의 조회수 반환
+     */
+    public long getPendingViewCnt(Long postId) {
+        return unflushed(current.get(postId)) + unflushed(retired.get(postId));
+    }
+
+    /**
+     * 저장소에서 조회한 조회수에 아직 반영되지 않은 조회수를 더한다.
+     */
+    public void applyPending(List<PostDetails> posts) {
+        for (PostDetails post : posts) {
+            long pending = getPendingViewCnt(post.getId());
+
+            if (pending > 0) {
+                post.setViewCnt(post.getViewCnt() + pending);
+            }
+        }
+    }
+
+    /**
+     * 주기적으로 쌓인 조회수를 저장소에 반영
+     */
+    @Scheduled(fixedDelayString = "${board.view-count.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+
+        try {
+            doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 애플리케이션 종료시 남은 조회수 반영
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        flush(); // 교체된 카운터(retired)에 남은 조회수까지 반영
+    }
+
+    /**
+     * 다른 스레드가 반영 중이면 기다리지 않고 넘어간다.
+     */
+    private void flushIfIdle() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+
+        try {
+            if (pendingTotal.sum() >= maxPending) {
+                doFlush();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void doFlush() {
+        Map<Long, Counter> previous = retired;
+        Map<Long, Counter> swapped = current;
+        current = new ConcurrentHashMap<>();
+
+        Map<Long, Long> deltas = new HashMap<>();
+        collect(previous, deltas);
+        collect(swapped, deltas);
+
+        retired = swapped;
+
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        long total = deltas.values().stream().mapToLong(Long::longValue).sum();
+
+        try {
+            viewCountWriter.addViewCnts(deltas);
+            pendingTotal.add(-total);
+        } catch (RuntimeException e) {
+            // 반영에 실패한 조회수는 버리지 않고 다음 반영 때 다시 시도
+            log.warn("조회수 반영 실패, 다음 주기에 다시 반영합니다. posts={}", deltas.size(), e);
+            deltas.forEach((postId, delta) -> current.computeIfAbsent(postId, id -> new Counter()).adder.add(delta));
+        }
+    }
+
+    /**
+     * 카운터별로 아직 반영되지 않은 조회수를 모으고 반영한 값으로 표시
+     */
+    private void collect(Map<Long, Counter> counters, Map<Long, Long> deltas) {
+        for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+            Counter counter = entry.getValue();
+            long sum = counter.adder.sum();
+            long delta = sum - counter.flushed;
+
+            if (delta > 0) {
+                counter.flushed = sum;
+                deltas.merge(entry.getKey(), delta, Long::sum);
+            }
+        }
+    }
+
+    private long unflushed(Counter counter) {
+        return counter == null ? 0 : counter.adder.sum() - counter.flushed;
+    }
+
+    private static class Counter {
+        private final LongAdder adder = new LongAdder(); // 누적 조회수
+        private volatile long flushed; // 저장소에 반영한 조회수
+    }
+}
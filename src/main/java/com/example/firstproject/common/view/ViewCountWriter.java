@@ -0,0 +1,13 @@
+package com.example.firstproject.common.view;
+
+import java.util.Map;
+
+/**
+ * 메모리에 모아둔 게시글 조회수 증가분을 저장소에 반영하는 인터페이스
+ */
+public interface ViewCountWriter {
+    /**
+     * 게시글 식별자별 조회수 증가분을 update 문으로 한 번에 반영 (많으면 나누어 반영)
+     */
+    void addViewCnts(Map<Long, Long> deltas);
+}
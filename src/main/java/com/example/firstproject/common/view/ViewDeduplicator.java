@@ -0,0 +1,133 @@
+package com.example.firstproject.common.view;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 같은 사용자가 같은 게시글을 일정 시간 안에 다시 조회하면 조회수를 증가시키지 않도록 조회 기록을 서버에서 관리하는 컴포넌트
+ * 게시글마다 viewed_{postId} 쿠키를 만들면 많이 읽는 사용자는 요청마다 수백 개의 쿠키를 보내게 되므로
+ * (조회자, 게시글) 쌍을 블룸 필터에 기록한다. (조회자 식별자는 ViewerResolver 참고)
+ * 필터는 두 세대(현재, 이전)를 두고 window마다 교체하므로 조회 기록은 window 이상 2 * window 이하 동안 유지된다.
+ * 블룸 필터 특성상 처음 조회한 게시글을 이미 조회한 것으로 잘못 판단할 수 있다. (기본 설정에서 약 1%)
+ * 조회 기록은 서버마다 메모리에 따로 보관하므로 다음과 같은 한계가 있다.
+ * - 여러 서버에서 실행하면 (세션은 공유하지만 고정 세션은 사용하지 않으므로) 같은 사용자가 window 안에 서버 수만큼 조회수를 올릴 수 있다.
+ * - 서버를 재시작하면(배포) 조회 기록이 사라져서 window 안에 다시 조회해도 조회수가 증가한다.
+ * 조회마다 DB나 세션에 기록하면 조회수를 모아서 반영하는(ViewCountAggregator) 의미가 없어지므로 조회수 중복 방지는 이 정도 정확도로 처리한다.
+ */
+@Slf4j
+@Component
+public class ViewDeduplicator {
+    private static final long SECOND_HASH_SEED = 0x9E3779B97F4A7C15L;
+
+    private final long windowMillis;
+    private final int bitCount;
+    private final int hashCount;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    public ViewDeduplicator(@Value("${board.view-count.dedupe-window:10m}") Duration window,
+                            @Value("${board.view-count.dedupe-expected-views:1000000}") int expectedViews,
+                            @Value("${board.view-count.dedupe-false-positive-rate:0.01}") double falsePositiveRate) {
+        this.windowMillis = window.toMillis();
+
+        // 예상 조회 수와 오탐률로 비트 수와 해시 함수 수 계산
+        double bits = -expectedViews * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        this.bitCount = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, Math.ceil(bits)));
+        this.hashCount = (int) Math.max(1, Math.round(bits / expectedViews * Math.log(2)));
+
+        this.current = new Generation(bitCount, System.currentTimeMillis());
+        this.previous = new Generation(bitCount, 0);
+
+        log.info("view dedupe filter created. bits={}, hashes={}, window={}", bitCount, hashCount, window);
+    }
+
+    /**
+     * window 안에 처음 조회한 게시글이면 조회 기록을 남기고 true 반환
+     */
+    public boolean firstView(Long postId, long viewer) {
+        Generation generation = rotateIfExpired();
+
+        long h1 = ViewerResolver.mix(viewer * 31 + ViewerResolver.mix(postId));
+        long h2 = ViewerResolver.mix(h1 ^ SECOND_HASH_SEED) | 1;
+
+        if (previous.mightContain(h1, h2)) {
+            return false;
+        }
+
+        return generation.put(h1, h2);
+    }
+
+    /**
+     * 현재 세대가 window보다 오래되었으면 이전 세대를 버리고 새 세대로 교체
+     */
+    private Generation rotateIfExpired() {
+        Generation generation = current;
+        long now = System.currentTimeMillis();
+
+        if (now - generation.createdAt < windowMillis) {
+            return generation;
+        }
+
+        synchronized (this) {
+            if (current == generation) {
+                previous = generation;
+                current = new Generation(bitCount, now);
+            }
+
+            return current;
+        }
+    }
+
+    /**
+     * 한 세대의 블룸 필터, 여러 요청 스레드가 락 없이 비트를 설정한다.
+     */
+    private class Generation {
+        private final AtomicLongArray words;
+        private final long createdAt;
+
+        private Generation(int bitCount, long createdAt) {
+            this.words = new AtomicLongArray((bitCount + 63) >>> 6);
+            this.createdAt = createdAt;
+        }
+
+        private boolean mightContain(long h1, long h2) {
+            for (int i = 0; i < hashCount; i++) {
+                int bit = index(h1 + i * h2);
+
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * 비트를 설정하고, 하나라도 새로 설정한 비트가 있으면 (처음 기록한 쌍이면) true 반환
+         */
+        private boolean put(long h1, long h2) {
+            boolean changed = false;
+
+            for (int i = 0; i < hashCount; i++) {
+                int bit = index(h1 + i * h2);
+                long mask = 1L << bit;
+                long prev = words.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+
+                if ((prev & mask) == 0) {
+                    changed = true;
+                }
+            }
+
+            return changed;
+        }
+
+        private int index(long hash) {
+            return (int) Long.remainderUnsigned(hash, bitCount);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.firstproject.common.view;
+
+import com.example.firstproject.domain.dto.member.SessionMember;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.WebUtils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 게시글 조회자를 구분하는 식별자를 구하는 컴포넌트
+ * 로그인한 회원은 회원 식별자로, 비회원은 viewer 쿠키 하나에 저장한 임의의 값으로 구분한다.
+ */
+@Component
+public class ViewerResolver {
+    private static final String VIEWER_COOKIE = "viewer";
+    private static final int VIEWER_COOKIE_MAX_AGE = 60 * 60 * 24 * 365;
+    private static final long GUEST_SEED = 0x9E3779B97F4A7C15L; // 회원 식별자와 비회원 식별자가 겹치지 않도록 섞는 값
+
+    public long resolve(SessionMember loginMember, HttpServletRequest request, HttpServletResponse response) {
+        return loginMember != null
+                ? loginMember.getId()
+                : getGuestViewerId(request, response) ^ GUEST_SEED;
+    }
+
+    /**
+     * 비회원 조회자를 구분하는 식별자를 viewer 쿠키에서 읽고, 없으면 새로 만들어서 쿠키로 내려준다.
+     */
+    private long getGuestViewerId(HttpServletRequest request, HttpServletResponse response) {
+        Cookie cookie = WebUtils.getCookie(request, VIEWER_COOKIE);
+
+        if (cookie != null) {
+            try {
+                return Long.parseUnsignedLong(cookie.getValue(), 16);
+            } catch (NumberFormatException e) {
+                // 잘못된 값이면 새로 발급
+            }
+        }
+
+        long viewerId = ThreadLocalRandom.current().nextLong();
+
+        Cookie newCookie = new Cookie(VIEWER_COOKIE, Long.toHexString(viewerId));
+        newCookie.setPath("/");
+        newCookie.setHttpOnly(true);
+        newCookie.setMaxAge(VIEWER_COOKIE_MAX_AGE);
+        response.addCookie(newCookie);
+
+        return viewerId;
+    }
+
+    /**
+     * 64비트 값을 고르게 섞는 해시 함수 (MurmurHash3 finalizer)
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.firstproject.common.view;
+
+import java.util.Map;
+
+/**
+ * 메모리에 모아둔 게시글별 순 조회자 스케치를 저장소에 반영하는 인터페이스
+ */
+public interface ViewerSketchWriter {
+    /**
+     * 게시글 식별자별 스케치를 저장된 스케치와 합쳐서 반영
+     */
+    void mergeViewerSketches(Map<Long, byte[]> sketches);
+}
@@ -1,15 +1,21 @@
 package com.example.firstproject.controller;
 
 import com.example.firstproject.common.constant.SessionConst;
+import com.example.firstproject.common.file.AttachmentCollector;
+import com.example.firstproject.common.job.DeleteJobRunner;
+import com.example.firstproject.domain.DeleteTarget;
 import com.example.firstproject.domain.dto.PageHandler;
+import com.example.firstproject.domain.dto.PagedResult;
 import com.example.firstproject.domain.dto.SearchCondition;
 import com.example.firstproject.domain.dto.SearchOption;
 import com.example.firstproject.domain.dto.member.MemberDetails;
 import com.example.firstproject.domain.dto.post.PostDetails;
+import com.example.firstproject.domain.dto.member.SessionMember;
 import com.example.firstproject.domain.jdbc.Member;
-import com.example.firstproject.domain.jpa.MemberEntity;
 import com.example.firstproject.service.jdbc.MemberService;
 import com.example.firstproject.service.jdbc.PostService;
+import com.example.firstproject.service.jpa.JpaAttachmentGcService;
+import com.example.firstproject.service.jpa.JpaDeleteJobService;
 import com.example.firstproject.service.jpa.JpaMemberService;
 import com.example.firstproject.service.jpa.JpaPostService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -33,6 +39,10 @@ public class AdminController {
     /* JPA */
     private final JpaPostService postService;
     private final JpaMemberService memberService;
+    private final JpaDeleteJobService deleteJobService;
+    private final DeleteJobRunner deleteJobRunner;
+    private final JpaAttachmentGcService attachmentGcService;
+    private final AttachmentCollector attachmentCollector;
 
     /**
      * 관리자 페이지 제공
@@ -50,7 +60,7 @@ public class AdminController {
                         @RequestParam(defaultValue = "1") Integer page,
                         @RequestParam(defaultValue = "10") Integer pageSize,
                         SearchCondition sc,
-                        @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) MemberEntity loginMember) {
+                        @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) SessionMember loginMember) {
         List<SearchOption> searchOptions = new ArrayList<>();
 
         searchOptions.add(new SearchOption("C", "내용"));
@@ -58,10 +68,12 @@ public class AdminController {
         searchOptions.add(new SearchOption("W", "작성자"));
 
         Map<String, Integer> map = postService.getPageInfo(page, pageSize);
-        List<PostDetails> posts = postService.getPagedPosts(map, sc);
-        PageHandler pageHandler = postService.getPageHandler(sc, page, pageSize);
+        PagedResult<PostDetails> result = postService.getPagedPosts(map, sc);
+        List<PostDetails> posts = result.getContent();
+        PageHandler pageHandler = postService.getPageHandler(result, page, pageSize);
 
         model.addAttribute("posts", posts);
+        model.addAttribute("uniqueViewerCnts", postService.getUniqueViewerCnts(posts));
         model.addAttribute("pageHandler", pageHandler);
         model.addAttribute("searchOptions", searchOptions);
         model.addAttribute("searchCondition", sc);
@@ -86,8 +98,9 @@ public class AdminController {
         searchOptions.add(new SearchOption("N", "닉네임"));
 
         Map<String, Integer> map = memberService.getPageInfo(page, pageSize);
-        List<MemberDetails> members = memberService.getPagedMembers(map, sc);
-        PageHandler pageHandler = memberService.getPageHandler(sc, page, pageSize);
+        PagedResult<MemberDetails> result = memberService.getPagedMembers(map, sc);
+        List<MemberDetails> members = result.getContent();
+        PageHandler pageHandler = memberService.getPageHandler(result, page, pageSize);
 
         model.addAttribute("members", members);
         model.addAttribute("pageHandler", pageHandler);
@@ -106,7 +119,7 @@ public class AdminController {
     @Transactional
     public String editMember(@PathVariable("memberId") Long memberId,
                              @RequestParam String newRole, HttpServletRequest request,
-                             @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) MemberEntity loginMember) {
+                             @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) SessionMember loginMember) {
         memberService.changeMemberRole(loginMember, memberId, newRole, request);
 
         return "redirect:/admin/members";
@@ -114,29 +127,45 @@ public class AdminController {
 
     /**
      * 관리자 페이지 - 회원 목록 페이지에서 회원을 삭제하는 요청 처리
+     * 삭제는 작업으로 등록하고 별도 스레드에서 처리하므로 바로 삭제 작업 목록 페이지로 이동한다.
      */
     @PostMapping("/admin/members/{memberId}/delete")
-    @Transactional
-    public String deleteMember(@PathVariable Long memberId,
-                               @RequestParam(defaultValue = "1") Integer page,
-                               @RequestParam(defaultValue = "10") Integer pageSize) {
-        Integer checkPage = memberService.checkPage(page);
-        memberService.deleteMemberByAdmin(memberId);
+    public String deleteMember(@PathVariable Long memberId) {
+        Long jobId = deleteJobService.request(DeleteTarget.MEMBER, memberId);
+        deleteJobRunner.submit(jobId);
 
-        return "redirect:/admin/members?page=" + checkPage + "&pageSize=" + pageSize;
+        return "redirect:/admin/jobs";
     }
 
     /**
      * 관리자 페이지 - 게시글 목록 페이지에서 게시글을 삭제하는 요청 처리
      */
     @PostMapping("/admin/posts/{postId}/delete")
-    @Transactional
-    public String deletePost(@PathVariable Long postId,
-                             @RequestParam(defaultValue = "1") Integer page,
-                             @RequestParam(defaultValue = "10") Integer pageSize) {
-        Integer checkPage = postService.checkPage(page);
-        postService.deletePost(postId);
+    public String deletePost(@PathVariable Long postId) {
+        Long jobId = deleteJobService.request(DeleteTarget.POST, postId);
+        deleteJobRunner.submit(jobId);
+
+        return "redirect:/admin/jobs";
+    }
+
+    /**
+     * 관리자 페이지 - 삭제 작업 목록과 진행 상황 페이지를 제공
+     */
+    @GetMapping("/admin/jobs")
+    public String jobs(Model model) {
+        model.addAttribute("jobs", deleteJobService.getRecentJobs(50));
+        model.addAttribute("gcRuns", attachmentGcService.getRecentRuns(10));
+
+        return "admin/adminJobs";
+    }
+
+    /**
+     * 관리자 페이지 - 참조하는 첨부 파일이 없는 파일을 정리하는 작업을 바로 실행하는 요청 처리
+     */
+    @PostMapping("/admin/jobs/gc")
+    public String collectAttachments() {
+        attachmentCollector.submit();
 
-        return "redirect:/admin/posts?page=" + checkPage + "&pageSize=" + pageSize;
+        return "redirect:/admin/jobs";
     }
 }
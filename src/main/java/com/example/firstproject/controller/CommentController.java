@@ -1,15 +1,19 @@
 package com.example.firstproject.controller;
 
 import com.example.firstproject.common.constant.SessionConst;
+import com.example.firstproject.domain.dto.comment.CommentNode;
+import com.example.firstproject.domain.dto.comment.CommentSlice;
 import com.example.firstproject.domain.dto.comment.RequestCommentDto;
+import com.example.firstproject.domain.dto.comment.ResponseCommentDto;
 import com.example.firstproject.domain.dto.comment.UpdateCommentDto;
+import com.example.firstproject.domain.dto.member.SessionMember;
 import com.example.firstproject.domain.jdbc.Member;
-import com.example.firstproject.domain.jpa.MemberEntity;
 import com.example.firstproject.service.jdbc.CommentService;
 import com.example.firstproject.service.jpa.JpaCommentService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
@@ -32,7 +36,7 @@ public class CommentController {
     @PostMapping("/posts/{postId}/comment")
     public String comment(@PathVariable Long postId, RequestCommentDto comment,
                           @RequestParam String prevUri, RedirectAttributes redirectAttributes,
-                          @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) MemberEntity loginMember) {
+                          @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) SessionMember loginMember) {
         redirectAttributes.addAttribute("postId", postId);
         redirectAttributes.addAttribute("prevUri", prevUri);
 
@@ -41,6 +45,35 @@ public class CommentController {
         return "redirect:/posts/{postId}";
     }
 
+    /**
+     * 게시글의 다음 댓글 목록을 조회하는 요청을 처리 (댓글 더보기)
+     * 화면의 스크립트가 JSON으로 받으므로 잘못된 커서는 오류 페이지 대신 400 응답
+     */
+    @ResponseBody
+    @GetMapping("/posts/{postId}/comments")
+    public ResponseEntity<CommentSlice<CommentNode>> comments(@PathVariable Long postId, @RequestParam(required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(commentService.getCommentTree(postId, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * 댓글의 다음 답글 목록을 조회하는 요청을 처리 (답글 보기)
+     * 잘못된 커서이거나 다른 게시글의 댓글이면 400 응답
+     */
+    @ResponseBody
+    @GetMapping("/posts/{postId}/comments/{commentId}/replies")
+    public ResponseEntity<CommentSlice<ResponseCommentDto>> replies(@PathVariable Long postId, @PathVariable Long commentId,
+                                                                    @RequestParam(required = false) String cursor) {
+        try {
+            return ResponseEntity.ok(commentService.getReplyPage(postId, commentId, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     /**
      * 게시글에 작성된 댓글을 삭제하는 요청을 처리
      */
@@ -78,7 +111,7 @@ public class CommentController {
     @PostMapping("/posts/{postId}/comment/{parentCommentId}/reply")
     public String addReply(@PathVariable Long postId, @PathVariable Long parentCommentId, @RequestParam String replyContent,
                            @RequestParam String prevUri, RedirectAttributes redirectAttributes,
-                           @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) MemberEntity loginMember) {
+                           @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) SessionMember loginMember) {
         redirectAttributes.addAttribute("postId", postId);
         redirectAttributes.addAttribute("prevUri", prevUri);
 
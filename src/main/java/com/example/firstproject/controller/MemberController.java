@@ -2,8 +2,8 @@ package com.example.firstproject.controller;
 
 import com.example.firstproject.common.constant.SessionConst;
 import com.example.firstproject.domain.dto.member.UpdateMemberDto;
+import com.example.firstproject.domain.dto.member.SessionMember;
 import com.example.firstproject.domain.jdbc.Member;
-import com.example.firstproject.domain.jpa.MemberEntity;
 import com.example.firstproject.service.jdbc.MemberService;
 import com.example.firstproject.service.jpa.JpaMemberService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,7 +30,7 @@ public class MemberController {
      * 회원 수정 페이지 제공
      */
     @GetMapping("/members/edit")
-    public String edit(Model model, @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) MemberEntity loginMember) {
+    public String edit(Model model, @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) SessionMember loginMember) {
         // 회원 수정 화면에 기존 회원 정보를 보여주기
         model.addAttribute("member", memberService.findMember(loginMember));
 
@@ -42,7 +42,7 @@ public class MemberController {
      */
     @PostMapping("/members/edit")
     public String member(@ModelAttribute("member") UpdateMemberDto member, BindingResult bindingResult,
-                         @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) MemberEntity loginMember,
+                         @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) SessionMember loginMember,
                          HttpServletRequest request, HttpServletResponse response) {
 
         memberService.editMember(loginMember.getId(), member, bindingResult, request, response);
@@ -1,15 +1,22 @@
 package com.example.firstproject.controller;
 
 import com.example.firstproject.common.constant.SessionConst;
+import com.example.firstproject.common.file.FileDownloader;
+import com.example.firstproject.common.file.ImageVariant;
+import com.example.firstproject.common.file.ImageVariantGenerator;
+import com.example.firstproject.common.file.StoredFile;
+import com.example.firstproject.common.view.ViewDeduplicator;
+import com.example.firstproject.common.view.ViewerResolver;
 import com.example.firstproject.domain.dto.*;
-import com.example.firstproject.domain.dto.comment.ResponseCommentDto;
 import com.example.firstproject.domain.dto.comment.RequestCommentDto;
+import com.example.firstproject.domain.dto.post.PostCounts;
 import com.example.firstproject.domain.dto.post.PostDetails;
 import com.example.firstproject.domain.dto.post.PostDto;
+import com.example.firstproject.domain.dto.post.PostView;
+import com.example.firstproject.domain.dto.member.SessionMember;
 import com.example.firstproject.domain.jdbc.File;
 import com.example.firstproject.domain.jdbc.Member;
 import com.example.firstproject.domain.jdbc.Post;
-import com.example.firstproject.domain.jpa.MemberEntity;
 import com.example.firstproject.domain.jpa.PostEntity;
 import com.example.firstproject.service.jdbc.CommentService;
 import com.example.firstproject.service.jdbc.FileService;
@@ -17,19 +24,21 @@ import com.example.firstproject.service.jdbc.PostService;
 import com.example.firstproject.service.jpa.JpaCommentService;
 import com.example.firstproject.service.jpa.JpaFileService;
 import com.example.firstproject.service.jpa.JpaPostService;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.io.IOException;
@@ -38,7 +47,9 @@ import java.net.URISyntaxException;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @Controller
@@ -54,6 +65,11 @@ public class PostController {
     private final JpaCommentService commentService;
     private final JpaFileService fileService;
 
+    private final FileDownloader fileDownloader;
+    private final ImageVariantGenerator imageVariantGenerator;
+    private final ViewDeduplicator viewDeduplicator;
+    private final ViewerResolver viewerResolver;
+
     /**
      * ModelAttribute 어노테이션의 특별한 사용법
      * BoardController 내의 여러 메서드에서 SearchOption 객체를 생성해서 값을 설정하고 모델에 저장하는 코드가 사용된다.
@@ -73,14 +89,36 @@ public class PostController {
     /**
      * 게시판 페이지 제공
      * 회원이 작성한 게시글 정보를 처리하기 위해서 게시글이 저장되어 있는 저장소에서 모든 정보를 얻고 저장소(Model)에 담아서 화면으로 전송한다.
+     * 앞쪽 페이지는 번호(OFFSET) 방식으로, 번호 페이지 이후는 마지막으로 본 게시글의 커서를 이용해서 이동한다.
      */
     @GetMapping("/posts")
     public String posts(@RequestParam(defaultValue = "1") Integer page,
                         @RequestParam(defaultValue = "10") Integer pageSize,
+                        @RequestParam(required = false) String cursor,
+                        @RequestParam(defaultValue = PostCursor.NEXT) String direction,
                         SearchCondition sc, Model model) {
-        Map<String, Integer> map = postService.getPageInfo(page, pageSize);
-        List<PostDetails> posts = postService.getPagedPosts(map, sc);
-        PageHandler pageHandler = postService.getPageHandler(sc, page, pageSize);
+        List<PostDetails> posts;
+        PageHandler pageHandler;
+        Optional<PostCursor> postCursor = PostCursor.tryDecode(cursor);
+
+        if (postCursor.isPresent() && !StringUtils.hasText(sc.getKeyword())) {
+            posts = postService.getPagedPostsByCursor(postCursor.get(), direction, pageSize);
+            pageHandler = postService.getPageHandler(posts, page, pageSize, direction);
+        } else {
+            // 커서가 비어 있거나 잘못된 값이면 첫 페이지 제공
+            if (cursor != null && postCursor.isEmpty()) {
+                page = 1;
+            }
+
+            Map<String, Integer> map = postService.getPageInfo(page, pageSize);
+            PagedResult<PostDetails> result = postService.getPagedPosts(map, sc);
+            posts = result.getContent();
+            pageHandler = postService.getPageHandler(result, page, pageSize);
+
+            if (!StringUtils.hasText(sc.getKeyword())) {
+                pageHandler.applyCursors(posts);
+            }
+        }
 
         model.addAttribute("posts", posts);
         model.addAttribute("pageHandler", pageHandler);
@@ -99,15 +137,16 @@ public class PostController {
     public String myPosts(@RequestParam(defaultValue = "1") Integer page,
                           @RequestParam(defaultValue = "10") Integer pageSize,
                           SearchCondition sc, Model model,
-                          @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) MemberEntity loginMember) {
+                          @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) SessionMember loginMember) {
         List<SearchOption> searchOptions = new ArrayList<>();
 
         searchOptions.add(new SearchOption("C", "내용"));
         searchOptions.add(new SearchOption("T", "제목"));
 
         Map<String, Integer> map = postService.getPageInfo(page, pageSize);
-        List<PostDetails> posts = postService.getPagedMyPosts(map, sc, loginMember);
-        PageHandler pageHandler = postService.getPageHandler(sc, page, pageSize, loginMember);
+        PagedResult<PostDetails> result = postService.getPagedMyPosts(map, sc, loginMember);
+        List<PostDetails> posts = result.getContent();
+        PageHandler pageHandler = postService.getPageHandler(result, page, pageSize);
 
         model.addAttribute("searchOptions", searchOptions);
         model.addAttribute("posts", posts);
@@ -153,7 +192,7 @@ public class PostController {
     @PostMapping("/posts/new")
     public String newPost(@RequestParam(defaultValue = "/posts") String prevUri,
                           @Validated @ModelAttribute("post") PostDto postDto, BindingResult bindingResult,
-                          @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) MemberEntity loginMember) {
+                          @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) SessionMember loginMember) {
 
         if(bindingResult.hasErrors()) {
             return "post/postForm";
@@ -173,11 +212,34 @@ public class PostController {
 
     /**
      * 게시글에 업로드된 파일을 다운로드 처리
+     * Range 요청 헤더가 있으면 요청한 범위만 전송한다. (중단된 다운로드 이어받기)
+     * 브라우저에 저장된 파일과 같으면(If-None-Match, If-Modified-Since) 파일을 읽지 않고 304 응답
+     * 이미지 파일은 variant 파라미터로 축소본(thumbnail, preview)을 받을 수 있다.
      */
-    @GetMapping("/download/{filename}")
-    // ResponseEntity<Resource>는 스프링에서 파일 다운로드 응답을 표준적으로 처리하는 방식
-    public ResponseEntity<Resource> downloadFile(@PathVariable String filename) throws IOException {
-        return fileService.downloadFile(filename);
+    @GetMapping("/download/{postId}/{filename}")
+    public void downloadFile(@PathVariable Long postId, @PathVariable String filename,
+                             @RequestParam(required = false) String variant,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+        StoredFile file = fileService.findFile(postId, filename).orElse(null);
+
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        if (variant != null) {
+            ImageVariant imageVariant = ImageVariant.find(variant).orElse(null);
+
+            // 지원하지 않는 축소본 종류
+            if (imageVariant == null) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+                return;
+            }
+
+            file = imageVariantGenerator.resolve(file, imageVariant);
+        }
+
+        fileDownloader.download(file, request, response);
     }
 
     /**
@@ -187,45 +249,57 @@ public class PostController {
     public String selectPost(@PathVariable Long postId,
                              @RequestParam(required = false) String prevUri,
                              Model model, HttpServletRequest request, HttpServletResponse response,
-                             @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) MemberEntity loginMember) {
+                             WebRequest webRequest, Locale locale,
+                             @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) SessionMember loginMember) {
         RequestCommentDto comment = new RequestCommentDto();
 
-        PostDto post = postService.getPostInfo(postId);
+        // 게시글이 존재하는지 먼저 확인 (존재하지 않는 게시글이면 조회수를 기록하지 않고 예외 발생)
+        String eTag = postService.getPostETag(postId, loginMember, locale);
 
-        // 이미 조회한 게시글인지 확인
-        Cookie[] cookies = request.getCookies();
-        boolean isViewed = false;
-        if (cookies != null) {
-            for (Cookie cookie : cookies) {
-                if (cookie.getName().equals("viewed_" + postId)) {
-                    isViewed = true;
-                    break;
-                }
-            }
-        }
+        long viewer = viewerResolver.resolve(loginMember, request, response);
 
-        // 처음 조회한 게시글일 떄만 조회수를 증가하도록 설정
-        if (!isViewed) {
+        // 일정 시간 안에 처음 조회한 게시글일 때만 조회수를 증가하도록 설정
+        if (viewDeduplicator.firstView(postId, viewer)) {
             postService.increaseViewCnt(postId);
+        }
+
+        // 순 조회자는 같은 조회자를 여러 번 추가해도 늘어나지 않으므로 조회할 때마다 추가
+        postService.addViewer(postId, viewer);
 
-            Cookie newCookie = new Cookie("viewed_" + postId, "true");
-            newCookie.setMaxAge(60 * 10); // 5분간 유지
-            response.addCookie(newCookie);
+        // 게시글과 댓글이 바뀌지 않았으면 게시글을 조회하거나 화면을 만들지 않고 304 응답
+        // 회원마다 화면이 다르므로 공유 캐시(프록시)에는 저장하지 않고, 브라우저는 매번 서버에 확인하도록 설정
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
         }
 
-        List<ResponseCommentDto> comments = commentService.getCommentsByPostId(postId);
-        List<ResponseCommentDto> replies = commentService.getReplies(postId);
+        // 게시글, 첨부 파일, 댓글을 한 번에 조회
+        PostView postView = postService.getPostView(postId);
 
         model.addAttribute("prevUri", prevUri);
-        model.addAttribute("post", post);
+        model.addAttribute("post", postView.getPost());
+        model.addAttribute("nickname", postView.getNickname());
         model.addAttribute("comment", comment);
-        model.addAttribute("comments", comments);
-        model.addAttribute("replies", replies);
+        model.addAttribute("comments", postView.getComments());
+        model.addAttribute("commentNextCursor", postView.getCommentNextCursor());
         model.addAttribute("loginMember", loginMember);
 
         return "post/post";
     }
 
+    /**
+     * 게시글의 조회수와 순 조회자 수를 조회하는 요청을 처리
+     * 게시글 페이지는 304 응답으로 재사용될 수 있으므로 페이지를 열 때마다 이 요청으로 최신 값을 가져오고, 응답은 캐시하지 않는다.
+     */
+    @ResponseBody
+    @GetMapping("/posts/{postId}/counts")
+    public ResponseEntity<PostCounts> postCounts(@PathVariable Long postId) {
+        return postService.getPostCounts(postId)
+                .map(counts -> ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(counts))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     /**
      * 게시글 수정 페이지 제공
      */
@@ -277,7 +351,7 @@ public class PostController {
     public String deleteBoard(@PathVariable Long id,
                               @RequestParam(defaultValue = "1") Integer page,
                               @RequestParam(defaultValue = "10") Integer pageSize,
-                              @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) MemberEntity loginMember) {
+                              @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) SessionMember loginMember) {
         Integer checkPage = postService.checkPage(page);
 
         postService.deletePost(id);
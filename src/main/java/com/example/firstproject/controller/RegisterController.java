@@ -2,8 +2,8 @@ package com.example.firstproject.controller;
 
 import com.example.firstproject.common.constant.SessionConst;
 import com.example.firstproject.domain.dto.member.MemberDto;
+import com.example.firstproject.domain.dto.member.SessionMember;
 import com.example.firstproject.domain.jdbc.Member;
-import com.example.firstproject.domain.jpa.MemberEntity;
 import com.example.firstproject.service.jdbc.MemberService;
 import com.example.firstproject.service.jpa.JpaMemberService;
 import jakarta.servlet.http.HttpServletRequest;
@@ -59,7 +59,7 @@ public class RegisterController {
      */
     @GetMapping("/members/delete")
     public String deleteAccount(HttpServletRequest request,
-                                @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) MemberEntity member) {
+                                @SessionAttribute(name = SessionConst.LOGIN_MEMBER, required = false) SessionMember member) {
         memberService.deleteMember(member, request);
 
         return "redirect:/";
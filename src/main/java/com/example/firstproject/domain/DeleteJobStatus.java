@@ -0,0 +1,8 @@
+package com.example.firstproject.domain;
+
+/**
+ * 삭제 작업의 진행 상태
+ */
+public enum DeleteJobStatus {
+    PENDING, RUNNING, COMPLETED, FAILED
+}
@@ -0,0 +1,8 @@
+package com.example.firstproject.domain;
+
+/**
+ * 삭제 작업의 대상 (회원 강제 탈퇴, 게시글 삭제)
+ */
+public enum DeleteTarget {
+    MEMBER, POST
+}
@@ -1,12 +1,17 @@
 package com.example.firstproject.domain.dto;
 
+import com.example.firstproject.domain.dto.post.PostDetails;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+
 @Slf4j
 @Getter @Setter
 public class PageHandler {
+    public static final int OFFSET_PAGE_LIMIT = 10; // 번호(OFFSET) 방식으로 이동할 수 있는 마지막 페이지, 이후 페이지는 커서 방식으로 이동
+
     private int totalCnt; // 총 게시물 갯수
     private int pageSize; // 한 페이지의 크기
     private int naviSize = 10; // 페이지 내비게이션의 크기
@@ -16,6 +21,11 @@ public class PageHandler {
     private int endPage; // 내비게이션의 마지막 페이지
     private boolean showPrev; // 이전 페이지로 이동하는 링크를 보여줄 것인지에 대한 여부
     private boolean showNext; // 다음 페이지로 이동하는 링크를 보여줄 것인지에 대한 여부
+    private boolean cursorMode; // 커서 방식으로 페이징 처리를 하고 있는지에 대한 여부
+    private boolean showNextCursor; // 커서 방식으로 다음 페이지로 이동하는 링크를 보여줄 것인지에 대한 여부
+    private boolean prevByCursor; // 이전 페이지로 이동할 때 커서 방식을 사용할 것인지에 대한 여부
+    private String prevCursor; // 현재 페이지의 첫 번째 게시글 커서
+    private String nextCursor; // 현재 페이지의 마지막 게시글 커서
 
     public PageHandler() {
     }
@@ -36,6 +46,58 @@ public class PageHandler {
         showNext = totalPage != 0 && endPage != totalPage;
     }
 
+    /**
+     * 커서 방식 페이징을 위한 PageHandler 생성
+     * 다음 페이지 존재 여부를 알기 위해 pageSize + 1개까지 조회한 목록을 전달받고, 초과한 게시글은 목록에서 제거한다.
+     * 커서 방식은 전체 게시글 수를 알 필요가 없으므로 count 쿼리를 실행하지 않는다.
+     */
+    public static PageHandler ofCursor(List<PostDetails> posts, int page, int pageSize, String direction) {
+        PageHandler pageHandler = new PageHandler();
+        boolean hasMore = posts.size() > pageSize;
+
+        if (hasMore) {
+            posts.subList(pageSize, posts.size()).clear();
+        }
+
+        pageHandler.cursorMode = true;
+        pageHandler.page = page;
+        pageHandler.pageSize = pageSize;
+        pageHandler.beginPage = page;
+        pageHandler.endPage = page;
+        pageHandler.showPrev = page > 1;
+        pageHandler.prevByCursor = page - 1 > OFFSET_PAGE_LIMIT;
+        // 이전 방향으로 이동한 경우 방금 전에 보던 페이지가 존재하므로 항상 다음 페이지가 존재
+        pageHandler.showNext = PostCursor.PREV.equals(direction) || hasMore;
+        pageHandler.applyCursors(posts);
+
+        return pageHandler;
+    }
+
+    /**
+     * 번호 방식 페이징에서 마지막 번호 페이지 이후로는 커서 방식으로 이동하도록 커서 설정
+     */
+    public void applyCursors(List<PostDetails> posts) {
+        if (posts.isEmpty()) {
+            // 커서를 만들 게시글이 없으므로 커서 방식 링크는 보여주지 않는다.
+            showNextCursor = false;
+
+            if (cursorMode) {
+                showNext = false;
+                showPrev = showPrev && !prevByCursor;
+            }
+
+            return;
+        }
+
+        prevCursor = PostCursor.from(posts.get(0)).encode();
+        nextCursor = PostCursor.from(posts.get(posts.size() - 1)).encode();
+
+        if (!cursorMode && showNext && endPage + 1 > OFFSET_PAGE_LIMIT) {
+            showNext = false;
+            showNextCursor = page == endPage;
+        }
+    }
+
     public void print() {
         System.out.println("page = " + page);
         System.out.print(showPrev ? "[PREV] " : "");
@@ -57,6 +119,9 @@ public class PageHandler {
                 ", endPage=" + endPage +
                 ", showPrev=" + showPrev +
                 ", showNext=" + showNext +
+                ", cursorMode=" + cursorMode +
+                ", prevCursor='" + prevCursor + '\'' +
+                ", nextCursor='" + nextCursor + '\'' +
                 '}';
     }
 }
@@ -0,0 +1,16 @@
+package com.example.firstproject.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 페이징 처리된 목록과 페이징 전의 전체 결과 수
+ */
+@Getter
+@AllArgsConstructor
+public class PagedResult<T> {
+    private List<T> content;
+    private int totalCnt;
+}
@@ -0,0 +1,77 @@
+package com.example.firstproject.domain.dto;
+
+import com.example.firstproject.domain.dto.post.PostDetails;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * 커서 기반(keyset) 페이징에 사용하는 커서
+ * 마지막으로 조회한 게시글의 (작성일, 식별자)를 기억해두고 다음 조회시 해당 위치부터 게시글을 조회한다.
+ * OFFSET 방식은 앞의 게시글을 모두 읽고 버리기 때문에 뒤 페이지로 갈수록 느려지지만 커서 방식은 항상 인덱스에서 바로 시작 위치를 찾는다.
+ */
+@Getter
+@AllArgsConstructor
+public class PostCursor {
+    public static final String NEXT = "next"; // 다음 페이지 방향
+    public static final String PREV = "prev"; // 이전 페이지 방향
+
+    private static final String DELIMITER = "_";
+
+    private LocalDateTime createdAt;
+    private Long id;
+
+    public static PostCursor from(PostDetails post) {
+        return new PostCursor(post.getCreatedAt(), post.getId());
+    }
+
+    /**
+     * 쿼리 파라미터로 전달할 수 있는 문자열로 변환 (예: 2025-01-01T12:00:00_15)
+     */
+    public String encode() {
+        return createdAt + DELIMITER + id;
+    }
+
+    /**
+     * 쿼리 파라미터로 전달받은 문자열을 커서로 변환
+     */
+    public static PostCursor decode(String cursor) {
+        int index = cursor.lastIndexOf(DELIMITER);
+
+        if (index < 0) {
+            throw new IllegalArgumentException("잘못된 커서입니다. cursor=" + cursor);
+        }
+
+        try {
+            return new PostCursor(LocalDateTime.parse(cursor.substring(0, index)), Long.parseLong(cursor.substring(index + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다. cursor=" + cursor, e);
+        }
+    }
+
+    /**
+     * 쿼리 파라미터로 전달받은 문자열을 커서로 변환, 비어 있거나 잘못된 커서면 빈 값 반환
+     */
+    public static Optional<PostCursor> tryDecode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(decode(cursor));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PostCursor{" +
+                "createdAt=" + createdAt +
+                ", id=" + id +
+                '}';
+    }
+}
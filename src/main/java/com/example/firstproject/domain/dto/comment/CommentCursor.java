@@ -0,0 +1,56 @@
+package com.example.firstproject.domain.dto.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 댓글 커서 기반(keyset) 페이징에 사용하는 커서
+ * 마지막으로 조회한 댓글의 (작성일, 식별자)를 기억해두고 다음 조회시 해당 위치 다음 댓글부터 조회한다.
+ */
+@Getter
+@AllArgsConstructor
+public class CommentCursor {
+    private static final String DELIMITER = "_";
+
+    private LocalDateTime createdAt;
+    private Long id;
+
+    public static CommentCursor from(ResponseCommentDto comment) {
+        return new CommentCursor(comment.getCreatedAt(), comment.getId());
+    }
+
+    /**
+     * 쿼리 파라미터로 전달할 수 있는 문자열로 변환 (예: 2025-01-01T12:00:00_15)
+     */
+    public String encode() {
+        return createdAt + DELIMITER + id;
+    }
+
+    /**
+     * 쿼리 파라미터로 전달받은 문자열을 커서로 변환
+     */
+    public static CommentCursor decode(String cursor) {
+        int index = cursor.lastIndexOf(DELIMITER);
+
+        if (index < 0) {
+            throw new IllegalArgumentException("잘못된 커서입니다. cursor=" + cursor);
+        }
+
+        try {
+            return new CommentCursor(LocalDateTime.parse(cursor.substring(0, index)), Long.parseLong(cursor.substring(index + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다. cursor=" + cursor, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CommentCursor{" +
+                "createdAt=" + createdAt +
+                ", id=" + id +
+                '}';
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.firstproject.domain.dto.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 댓글과 해당 댓글에 달린 답글 목록
+ */
+@AllArgsConstructor
+@Getter
+public class CommentNode {
+    private ResponseCommentDto comment;
+
+    private List<ResponseCommentDto> replies;
+}
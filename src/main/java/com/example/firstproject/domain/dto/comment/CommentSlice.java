@@ -0,0 +1,21 @@
+package com.example.firstproject.domain.dto.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 커서 방식으로 조회한 댓글 목록과 다음 목록을 조회할 때 사용할 커서 (다음 목록이 없으면 null)
+ */
+@AllArgsConstructor
+@Getter
+public class CommentSlice<T> {
+    private List<T> comments;
+
+    private String nextCursor;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.firstproject.domain.dto.comment;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.*;
 import org.springframework.format.annotation.DateTimeFormat;
 
@@ -17,11 +18,19 @@ public class ResponseCommentDto {
     private String nickname; // userId
     private String content;
     @DateTimeFormat(pattern = "yy-MM-dd HH:mm:ss")
+    @JsonFormat(pattern = "yy-MM-dd HH:mm:ss")
     private LocalDateTime createdAt;
 
+    @JsonFormat(pattern = "yy-MM-dd HH:mm:ss")
     private LocalDateTime updatedAt;
 
+    private Long replyCnt; // 답글 수
+
     public ResponseCommentDto(Long id, Long postId, Long memberId, Long parentCommentId, String nickname, String content, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, postId, memberId, parentCommentId, nickname, content, createdAt, updatedAt, 0L);
+    }
+
+    public ResponseCommentDto(Long id, Long postId, Long memberId, Long parentCommentId, String nickname, String content, LocalDateTime createdAt, LocalDateTime updatedAt, Long replyCnt) {
         this.id = id;
         this.postId = postId;
         this.memberId = memberId;
@@ -30,5 +39,6 @@ public class ResponseCommentDto {
         this.content = content;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.replyCnt = replyCnt == null ? 0L : replyCnt;
     }
 }
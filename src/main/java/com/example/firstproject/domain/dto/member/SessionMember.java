@@ -0,0 +1,90 @@
+package com.example.firstproject.domain.dto.member;
+
+import com.example.firstproject.domain.Role;
+import com.example.firstproject.domain.jdbc.Member;
+import com.example.firstproject.domain.jpa.MemberEntity;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.ZoneOffset;
+
+/**
+ * 로그인한 회원의 세션 정보 (식별자, 닉네임, 권한, 버전)
+ * 세션에 회원 엔티티 전체(비밀번호 포함)를 저장하지 않고 화면과 권한 확인에 필요한 값만 변경할 수 없는 객체로 저장한다.
+ * 회원 엔티티가 필요한 곳에서는 식별자로 다시 조회하거나 참조(프록시)를 얻어서 사용한다.
+ * version은 회원 정보가 마지막으로 변경된 시점으로, 세션의 회원 정보가 바뀌었는지 비교하는 데 사용한다.
+ */
+@Getter
+@ToString
+public final class SessionMember implements Serializable {
+    private final Long id;
+    private final String nickname;
+    private final Role role;
+    private final long version;
+
+    public SessionMember(Long id, String nickname, Role role, long version) {
+        this.id = id;
+        this.nickname = nickname;
+        this.role = role;
+        this.version = version;
+    }
+
+    public static SessionMember from(MemberEntity member) {
+        long version = member.getUpdatedAt() != null
+                ? member.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli()
+                : 0L;
+
+        return new SessionMember(member.getId(), member.getNickname(), member.getRole(), version);
+    }
+
+    public static SessionMember from(Member member) {
+        long version = member.getUpdatedAt() != null
+                ? member.getUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli()
+                : 0L;
+
+        return new SessionMember(member.getId(), member.getNickname(), member.getRole(), version);
+    }
+
+    /**
+     * 세션을 직렬화할 때 클래스 구조 대신 값만 담은 간단한 형태로 저장
+     * 권한은 enum 상수의 순서가 바뀌어도 같은 권한으로 복원되도록 순번 대신 이름으로 저장한다.
+     */
+    @Serial
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("SerializedForm이 필요합니다.");
+    }
+
+    private static class SerializedForm implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final long id;
+        private final String nickname;
+        private final String roleName; // 순번으로 저장하던 이전 형태의 세션에는 없으므로 null
+        private final long version;
+
+        private SerializedForm(SessionMember member) {
+            this.id = member.id;
+            this.nickname = member.nickname;
+            this.roleName = member.role.name();
+            this.version = member.version;
+        }
+
+        /**
+         * 권한 이름이 없는 이전 형태의 세션은 로그인하지 않은 것으로 보고 null 반환 (다시 로그인하면 새로운 형태로 저장)
+         */
+        @Serial
+        private Object readResolve() {
+            return roleName != null ? new SessionMember(id, nickname, Role.valueOf(roleName), version) : null;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.firstproject.domain.dto.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 게시글 페이지에서 따로 조회하는 조회수와 순 조회자 수를 담는 DTO
+ */
+@AllArgsConstructor
+@Getter
+public class PostCounts {
+    private Long viewCnt; // 아직 반영되지 않은 조회수까지 더한 값
+
+    private Long uniqueViewerCnt; // 순 조회자 수 (근사값)
+}
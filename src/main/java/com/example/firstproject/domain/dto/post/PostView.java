@@ -0,0 +1,25 @@
+package com.example.firstproject.domain.dto.post;
+
+import com.example.firstproject.domain.dto.comment.CommentNode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 게시글 상세 페이지를 그리는 데 필요한 정보를 한 번에 담는 DTO
+ * 게시글, 작성자 닉네임, 첨부 파일 목록, 첫 번째 댓글 목록과 각 댓글의 답글
+ */
+@Builder
+@AllArgsConstructor
+@Getter
+public class PostView {
+    private PostDto post;
+
+    private String nickname;
+
+    private List<CommentNode> comments;
+
+    private String commentNextCursor; // 다음 댓글 목록을 조회할 때 사용할 커서 (다음 목록이 없으면 null)
+}
@@ -0,0 +1,76 @@
+package com.example.firstproject.domain.jpa;
+
+import com.example.firstproject.domain.DeleteJobStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 참조하는 첨부 파일이 없는 파일을 정리하는 작업의 진행 상황
+ * 저장소 디렉토리를 순서대로 검사하면서 마지막으로 검사를 마친 디렉토리를 기록하므로 중단되어도 다음 실행에서 이어서 검사한다.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_attachment_gc_run_status", columnList = "status"))
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AttachmentGcRunEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private DeleteJobStatus status = DeleteJobStatus.RUNNING;
+
+    private String cursor; // 마지막으로 검사를 마친 디렉토리 (예: ab/cd)
+
+    @Builder.Default
+    private Long scannedCnt = 0L; // 검사한 파일 수
+
+    @Builder.Default
+    private Long deletedCnt = 0L; // 삭제한 파일 수
+
+    @Builder.Default
+    private Long reclaimedBytes = 0L; // 삭제해서 확보한 용량
+
+    private String message; // 실패 사유
+
+    private LocalDateTime createdAt;
+
+    @Builder.Default
+    private LocalDateTime updatedAt = null;
+
+    public void advance(String cursor, long scannedCnt, long deletedCnt, long reclaimedBytes) {
+        if (cursor != null) {
+            this.cursor = cursor;
+        }
+
+        this.scannedCnt += scannedCnt;
+        this.deletedCnt += deletedCnt;
+        this.reclaimedBytes += reclaimedBytes;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void resume() {
+        this.status = DeleteJobStatus.RUNNING;
+        this.message = null;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void complete() {
+        this.status = DeleteJobStatus.COMPLETED;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void fail(String message) {
+        this.status = DeleteJobStatus.FAILED;
+        this.message = message;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
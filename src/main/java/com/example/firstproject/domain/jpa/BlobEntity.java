@@ -0,0 +1,30 @@
+package com.example.firstproject.domain.jpa;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 저장소에 저장된 첨부 파일 내용(blob)과 이 내용을 참조하는 첨부 파일(FileEntity) 수
+ * 참조하는 첨부 파일이 없어지면 저장소에서 파일을 삭제한다.
+ */
+@Entity
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BlobEntity {
+    @Id
+    private String hash; // SHA-256 (16진수 문자열)
+
+    private Long size;
+
+    private Long refCnt; // 참조하는 첨부 파일 수
+
+    private LocalDateTime createdAt;
+}
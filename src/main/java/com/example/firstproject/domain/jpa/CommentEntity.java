@@ -7,13 +7,18 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_comment_post_created_at_id", columnList = "post_id, created_at, id"),
+        @Index(name = "idx_comment_parent_created_at_id", columnList = "parent_comment_id, created_at, id")
+})
 @Getter
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class CommentEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_seq")
+    @SequenceGenerator(name = "comment_seq", sequenceName = "comment_entity_seq", allocationSize = 50)
     private Long id; // cno
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -33,6 +38,9 @@ public class CommentEntity {
     @Builder.Default
     private LocalDateTime updatedAt = null;
 
+    @Builder.Default
+    private Long replyCnt = 0L; // 답글 수, 댓글을 볼 때마다 답글을 세지 않도록 답글 작성/삭제시 갱신
+
     public void updateComment(UpdateCommentDto updateCommentDto) {
         this.content = updateCommentDto.getContent();
         this.updatedAt = LocalDateTime.now();
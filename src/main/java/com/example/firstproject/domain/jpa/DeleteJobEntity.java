@@ -0,0 +1,76 @@
+package com.example.firstproject.domain.jpa;
+
+import com.example.firstproject.domain.DeleteJobStatus;
+import com.example.firstproject.domain.DeleteTarget;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 관리자가 요청한 삭제 작업
+ * 삭제는 별도 스레드에서 나누어 처리하고 진행 상황을 기록해두므로 애플리케이션이 재시작되어도 남은 작업을 이어서 처리할 수 있다.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_delete_job_status", columnList = "status"))
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DeleteJobEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private DeleteTarget target;
+
+    private Long targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private DeleteJobStatus status = DeleteJobStatus.PENDING;
+
+    @Builder.Default
+    private Long totalCnt = 0L; // 삭제할 전체 건수 (회원은 게시글 수, 게시글은 댓글 수)
+
+    @Builder.Default
+    private Long processedCnt = 0L; // 삭제한 건수
+
+    private String message; // 실패 사유
+
+    private LocalDateTime createdAt;
+
+    @Builder.Default
+    private LocalDateTime updatedAt = null;
+
+    public void start(long remainingCnt) {
+        this.status = DeleteJobStatus.RUNNING;
+        this.totalCnt = processedCnt + remainingCnt;
+        this.message = null;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void addProcessedCnt(long processedCnt) {
+        this.processedCnt += processedCnt;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void complete() {
+        this.status = DeleteJobStatus.COMPLETED;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public void fail(String message) {
+        this.status = DeleteJobStatus.FAILED;
+        this.message = message;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public boolean isFinished() {
+        return status == DeleteJobStatus.COMPLETED || status == DeleteJobStatus.FAILED;
+    }
+}
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 public class FileEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "file_seq")
+    @SequenceGenerator(name = "file_seq", sequenceName = "file_entity_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -26,6 +27,8 @@ public class FileEntity {
 
     private String filePath;
 
+    private String hash; // 파일 내용의 SHA-256, blob 저장소에 저장된 파일 이름 (blob 저장소 도입 전에 업로드된 파일은 null)
+
     private LocalDateTime uploadedAt;
 
     public void uploadFile(PostEntity post) {
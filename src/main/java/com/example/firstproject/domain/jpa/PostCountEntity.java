@@ -0,0 +1,25 @@
+package com.example.firstproject.domain.jpa;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 게시글 수를 미리 집계해두는 엔티티
+ * 게시판 요청마다 select count(*) 로 전체 게시글을 읽지 않도록 게시글 저장/삭제 시점에 게시글 수를 갱신한다.
+ * 전체 게시글 수는 GLOBAL_ID(0)에, 회원별 게시글 수는 회원 식별자에 저장한다.
+ */
+@Entity
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostCountEntity {
+    public static final Long GLOBAL_ID = 0L;
+
+    @Id
+    private Long memberId;
+
+    private Long postCnt;
+}
@@ -1,20 +1,26 @@
 package com.example.firstproject.domain.jpa;
 
+import com.example.firstproject.common.view.HyperLogLog;
 import com.example.firstproject.domain.dto.post.PostDto;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_post_created_at_id", columnList = "created_at, id"))
+@DynamicUpdate // 순 조회자 스케치를 반영할 때 변경된 컬럼만 update (조회수는 별도의 update 문으로 증가시키므로 덮어쓰지 않도록)
 @Getter
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
 public class PostEntity {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // IDENTITY는 insert마다 식별자를 받아야 해서 배치 insert가 불가능하므로 식별자를 미리 여러 개 할당받는 시퀀스 사용
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq")
+    @SequenceGenerator(name = "post_seq", sequenceName = "post_entity_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -40,6 +46,12 @@ public class PostEntity {
     @Builder.Default
     private Long viewCnt = 0L;
 
+    @Builder.Default
+    private Long commentVersion = 0L; // 게시글 페이지에 보이는 댓글이 바뀔 때마다 증가 (게시글 페이지 ETag에 사용)
+
+    @Column(length = HyperLogLog.SIZE)
+    private byte[] viewerSketch; // 순 조회자 수를 추정하는 HyperLogLog 스케치
+
     public void update(PostDto postDto) {
         this.title = postDto.getTitle();
         this.content = postDto.getContent();
@@ -50,6 +62,10 @@ public class PostEntity {
         this.viewCnt++;
     }
 
+    public void mergeViewerSketch(byte[] sketch) {
+        this.viewerSketch = HyperLogLog.merge(this.viewerSketch, sketch);
+    }
+
     public void attachFiles(List<FileEntity> files) {
         this.files.addAll(files);
     }
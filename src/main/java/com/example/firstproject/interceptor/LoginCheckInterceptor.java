@@ -13,21 +13,9 @@ public class LoginCheckInterceptor implements HandlerInterceptor {
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
         String requestURI = request.getRequestURI();
-        String method = request.getMethod();
 
-        // redirectURL 검증
-        if (requestURI == null || !requestURI.matches("^/([a-zA-Z0-9_\\-]+(/)?)*$")) {
-            requestURI = "/";
-        }
-
-        if(requestURI.startsWith("/admin")){
-            requestURI = "/";
-        }
-
-
-        // GET /posts/{숫자} 형식만 예외 처리
-        // ^은 문자열을 시작을 의미, $은 문자열 끝을 의미, \d+은 숫자 하나 이상을 의미(자바에서는 \\가 \로 인식)
-        if ("GET".equalsIgnoreCase(method) && requestURI.matches("^/posts/\\d+$")) {
+        // 로그인 없이 접근할 수 있는 경로 (메인, 로그인, 회원가입, 게시글 목록, GET /posts/{숫자}, 정적 자원 등)
+        if (RouteClassifier.isPublic(request.getMethod(), requestURI)) {
             return true;
         }
 
@@ -41,8 +29,8 @@ public class LoginCheckInterceptor implements HandlerInterceptor {
         if (session == null || session.getAttribute(SessionConst.LOGIN_MEMBER) == null) {
             log.info("미인증 사용자 요청");
 
-            // 로그인 화면으로 redirect
-            response.sendRedirect("/login?redirectURL=" + requestURI);
+            // 로그인 화면으로 redirect (redirectURL 검증)
+            response.sendRedirect("/login?redirectURL=" + RouteClassifier.redirectTarget(requestURI));
 
             return false;
         }
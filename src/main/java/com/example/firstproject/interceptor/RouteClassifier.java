@@ -0,0 +1,131 @@
+package com.example.firstproject.interceptor;
+
+/**
+ * 요청 경로가 로그인 없이 접근할 수 있는 경로인지 판단하고, 로그인 후 돌아갈 경로를 검증하는 클래스
+ * 정규식 대신 경로를 한 번만 훑어서 판단하므로 요청마다 패턴을 컴파일하거나 역추적(backtracking)하지 않고 객체도 만들지 않는다.
+ */
+final class RouteClassifier {
+    private static final String POST_PREFIX = "/posts/";
+    private static final String CSS_PREFIX = "/css/";
+    private static final String COUNTS = "/counts";
+    private static final String COMMENTS = "/comments";
+    private static final String REPLIES = "/replies";
+
+    private RouteClassifier() {
+    }
+
+    /**
+     * 로그인 없이 접근할 수 있는 경로이면 true 반환
+     * 고정 경로, 정적 자원(/css/**, /*.ico), 게시글 조회(GET /posts/{숫자}), 조회수 조회(GET /posts/{숫자}/counts)
+     * 댓글 더보기(GET /posts/{숫자}/comments), 답글 보기(GET /posts/{숫자}/comments/{숫자}/replies)
+     */
+    static boolean isPublic(String method, String path) {
+        if (path == null) {
+            return false;
+        }
+
+        switch (path) {
+            case "/", "/login", "/members/new", "/members/register", "/posts", "/error", "/css":
+                return true;
+        }
+
+        if (path.startsWith(CSS_PREFIX)) {
+            return true;
+        }
+
+        if (path.endsWith(".ico") && path.indexOf('/', 1) < 0) {
+            return true;
+        }
+
+        return "GET".equalsIgnoreCase(method) && isPostReadPath(path);
+    }
+
+    /**
+     * 로그인 후 돌아갈 경로 반환
+     * 영문, 숫자, '_', '-'로 이루어진 경로가 아니거나 관리자 페이지이면 메인 페이지로 이동
+     */
+    static String redirectTarget(String uri) {
+        if (uri == null || !isSafePath(uri) || uri.startsWith("/admin")) {
+            return "/";
+        }
+
+        return uri;
+    }
+
+    /**
+     * /posts/{숫자}, /posts/{숫자}/counts, /posts/{숫자}/comments, /posts/{숫자}/comments/{숫자}/replies 형식인지 확인
+     */
+    private static boolean isPostReadPath(String path) {
+        if (!path.startsWith(POST_PREFIX)) {
+            return false;
+        }
+
+        int index = skipDigits(path, POST_PREFIX.length());
+
+        if (index < 0 || index == path.length()) {
+            return index == path.length();
+        }
+
+        if (path.length() - index == COUNTS.length() && path.startsWith(COUNTS, index)) {
+            return true;
+        }
+
+        if (!path.startsWith(COMMENTS, index)) {
+            return false;
+        }
+
+        index += COMMENTS.length();
+
+        if (index == path.length()) {
+            return true;
+        }
+
+        if (path.charAt(index) != '/') {
+            return false;
+        }
+
+        index = skipDigits(path, index + 1);
+
+        return index > 0 && path.length() - index == REPLIES.length() && path.startsWith(REPLIES, index);
+    }
+
+    /**
+     * from부터 숫자가 하나 이상 이어지면 숫자가 끝나는 위치를, 숫자가 없으면 -1 반환
+     */
+    private static int skipDigits(String path, int from) {
+        int index = from;
+
+        while (index < path.length() && path.charAt(index) >= '0' && path.charAt(index) <= '9') {
+            index++;
+        }
+
+        return index == from ? -1 : index;
+    }
+
+    /**
+     * '/'로 시작하고, 경로 조각이 비어 있지 않으며('//' 없음), 허용된 문자로만 이루어졌는지 확인
+     */
+    private static boolean isSafePath(String uri) {
+        if (uri.isEmpty() || uri.charAt(0) != '/') {
+            return false;
+        }
+
+        char prev = '/';
+
+        for (int i = 1; i < uri.length(); i++) {
+            char c = uri.charAt(i);
+
+            if (c == '/' ? prev == '/' : !isPathChar(c)) {
+                return false;
+            }
+
+            prev = c;
+        }
+
+        return true;
+    }
+
+    private static boolean isPathChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '-';
+    }
+}
@@ -7,6 +7,8 @@ import java.util.List;
 public interface FileRepository {
     void save(File file);
 
+    void saveAll(List<File> files);
+
     boolean checkFile(Long postId, String fileName);
 
     List<File> findByPostId(Long postId);
@@ -1,5 +1,6 @@
 package com.example.firstproject.repository;
 
+import com.example.firstproject.domain.dto.PostCursor;
 import com.example.firstproject.domain.dto.post.PostDetails;
 import com.example.firstproject.domain.dto.post.PostDto;
 import com.example.firstproject.domain.jdbc.File;
@@ -45,6 +46,10 @@ public interface PostRepository {
 
     List<PostDetails> findAll(Integer offset, Integer limit);
 
+    List<PostDetails> findAllAfter(PostCursor cursor, Integer limit);
+
+    List<PostDetails> findAllBefore(PostCursor cursor, Integer limit);
+
     int getMyCountBySearchCondition(SearchCondition sc, Member member);
 
     int getCountByContent(String keyword, Long memberId);
@@ -1,5 +1,6 @@
 package com.example.firstproject.repository.comment;
 
+import com.example.firstproject.common.db.DBConnectionUtils;
 import com.example.firstproject.domain.dto.comment.ResponseCommentDto;
 import com.example.firstproject.domain.dto.comment.UpdateCommentDto;
 import com.example.firstproject.domain.jdbc.Comment;
@@ -23,6 +24,13 @@ public class JdbcCommentRepositoryV2 implements CommentRepository {
     private final DataSource dataSource;
     private final SQLExceptionTranslator exTranslator;
 
+    /**
+     * DBConnectionUtils의 공유 커넥션 풀을 사용
+     */
+    public JdbcCommentRepositoryV2() {
+        this(DBConnectionUtils.getDataSource());
+    }
+
     public JdbcCommentRepositoryV2(DataSource dataSource) {
         this.dataSource = dataSource;
         this.exTranslator = new SQLErrorCodeSQLExceptionTranslator(dataSource);
@@ -5,6 +5,7 @@ import com.example.firstproject.domain.dto.comment.UpdateCommentDto;
 import com.example.firstproject.domain.jdbc.Comment;
 import com.example.firstproject.repository.CommentRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -20,6 +21,7 @@ import java.util.Optional;
 
 @Slf4j
 @Repository
+@Lazy
 public class JdbcCommentRepositoryV4 implements CommentRepository {
     private final NamedParameterJdbcTemplate template;
 
@@ -1,17 +1,26 @@
 package com.example.firstproject.repository.comment;
 
+import com.example.firstproject.domain.dto.comment.CommentCursor;
 import com.example.firstproject.domain.dto.comment.ResponseCommentDto;
 import com.example.firstproject.domain.dto.comment.UpdateCommentDto;
 import com.example.firstproject.domain.jpa.CommentEntity;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @RequiredArgsConstructor
 @Repository
 public class JpaCommentRepository {
+    private static final String RESPONSE_COMMENT_DTO = "new com.example.firstproject.domain.dto.comment.ResponseCommentDto(" +
+            "c.id, c.post.id, c.member.id, c.parentCommentId, m.nickname, c.content, c.createdAt, c.updatedAt, coalesce(c.replyCnt, 0L)) ";
+
+    private static final int IN_CLAUSE_SIZE = 1000; // in 절 하나에 넣을 최대 식별자 수
+
     private final EntityManager em;
 
     public void save(CommentEntity comment) {
@@ -23,11 +32,70 @@ public class JpaCommentRepository {
         comment.updateComment(updateCommentDto);
     }
 
+    public Optional<Long> findPostIdById(Long id) {
+        String sql = "select c.post.id from CommentEntity c where c.id = :id";
+        return em.createQuery(sql, Long.class).setParameter("id", id).getResultStream().findFirst();
+    }
+
     public void deleteByMemberId(Long memberId) {
+        // 다른 회원의 댓글에 작성한 답글이 삭제되므로 해당 댓글들의 답글 수를 먼저 감소
+        List<Object[]> replyCnts = em.createQuery("select c.parentCommentId, count(c) from CommentEntity c " +
+                        "where c.member.id = :memberId and c.parentCommentId is not null and c.parentCommentId <> 0 " +
+                        "group by c.parentCommentId", Object[].class)
+                .setParameter("memberId", memberId)
+                .getResultList();
+
+        for (Object[] replyCnt : replyCnts) {
+            addReplyCnt((Long) replyCnt[0], -(Long) replyCnt[1]);
+        }
+
         String sql = "delete from CommentEntity c where c.member.id = :memberId";
         em.createQuery(sql).setParameter("memberId", memberId).executeUpdate();
     }
 
+    /**
+     * 게시글에 작성된 댓글과 답글의 식별자를 식별자 순으로 limit개 조회
+     */
+    public List<Long> findIdsByPostId(Long postId, Integer limit) {
+        String sql = "select c.id from CommentEntity c where c.post.id = :postId order by c.id";
+
+        return em.createQuery(sql, Long.class).setParameter("postId", postId).setMaxResults(limit).getResultList();
+    }
+
+    public int getCountByPostId(Long postId) {
+        String sql = "select count(c) from CommentEntity c where c.post.id = :postId";
+        return em.createQuery(sql, Long.class).setParameter("postId", postId).getSingleResult().intValue();
+    }
+
+    public void deleteByIds(List<Long> ids) {
+        String sql = "delete from CommentEntity c where c.id in :ids";
+        em.createQuery(sql).setParameter("ids", ids).executeUpdate();
+    }
+
+    /**
+     * 게시글들에 작성된 댓글과 답글을 모두 삭제
+     */
+    public void deleteByPostIds(List<Long> postIds) {
+        String sql = "delete from CommentEntity c where c.post.id in :postIds";
+        em.createQuery(sql).setParameter("postIds", postIds).executeUpdate();
+    }
+
+    /**
+     * 회원이 작성한 댓글에 달린 답글을 모두 삭제
+     * MySQL은 삭제 대상 테이블을 서브쿼리에서 조회할 수 없으므로 회원의 댓글 식별자를 먼저 조회한다.
+     */
+    public void deleteRepliesOfMember(Long memberId) {
+        List<Long> commentIds = em.createQuery("select c.id from CommentEntity c where c.member.id = :memberId", Long.class)
+                .setParameter("memberId", memberId)
+                .getResultList();
+
+        for (int from = 0; from < commentIds.size(); from += IN_CLAUSE_SIZE) {
+            em.createQuery("delete from CommentEntity c where c.parentCommentId in :commentIds")
+                    .setParameter("commentIds", commentIds.subList(from, Math.min(from + IN_CLAUSE_SIZE, commentIds.size())))
+                    .executeUpdate();
+        }
+    }
+
     public void deleteById(Long id) {
         List<CommentEntity> childComments = em.createQuery("select c from CommentEntity c where c.parentCommentId = :parentCommentId", CommentEntity.class)
                 .setParameter("parentCommentId", id)
@@ -37,22 +105,75 @@ public class JpaCommentRepository {
             em.remove(childComment);
         }
 
-        em.remove(em.find(CommentEntity.class, id));
+        CommentEntity comment = em.find(CommentEntity.class, id);
+
+        // 답글을 삭제하면 부모 댓글의 답글 수 감소
+        if (comment.getParentCommentId() != null && comment.getParentCommentId() != 0) {
+            addReplyCnt(comment.getParentCommentId(), -1);
+        }
+
+        em.remove(comment);
+    }
+
+    /**
+     * 게시글의 최상위 댓글(답글이 아닌 댓글)을 (작성일, 식별자) 순으로 커서 다음부터 limit개 조회 (커서가 null이면 처음부터)
+     */
+    public List<ResponseCommentDto> findTopLevelByPostId(Long postId, CommentCursor cursor, Integer limit) {
+        String sql = "SELECT " + RESPONSE_COMMENT_DTO +
+                "FROM CommentEntity c JOIN c.member m " +
+                "WHERE c.post.id = :postId AND (c.parentCommentId IS NULL OR c.parentCommentId = 0) " +
+                (cursor == null ? "" : "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) ") +
+                "ORDER BY c.createdAt, c.id";
+
+        TypedQuery<ResponseCommentDto> query = em.createQuery(sql, ResponseCommentDto.class).setParameter("postId", postId);
+
+        return setCursor(query, cursor).setMaxResults(limit).getResultList();
     }
 
-    public List<ResponseCommentDto> findByPostId(Long postId) {
-        String sql = "SELECT new com.example.firstproject.domain.dto.comment.ResponseCommentDto(c.id, c.post.id, c.member.id, c.parentCommentId, m.nickname, c.content, c.createdAt, c.updatedAt) " +
+    /**
+     * 댓글에 달린 답글을 (작성일, 식별자) 순으로 커서 다음부터 limit개 조회 (커서가 null이면 처음부터)
+     */
+    public List<ResponseCommentDto> findRepliesByParentId(Long parentCommentId, CommentCursor cursor, Integer limit) {
+        String sql = "SELECT " + RESPONSE_COMMENT_DTO +
                 "FROM CommentEntity c JOIN c.member m " +
-                "WHERE c.post.id = :postId";
+                "WHERE c.parentCommentId = :parentCommentId " +
+                (cursor == null ? "" : "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) ") +
+                "ORDER BY c.createdAt, c.id";
+
+        TypedQuery<ResponseCommentDto> query = em.createQuery(sql, ResponseCommentDto.class).setParameter("parentCommentId", parentCommentId);
 
-        return em.createQuery(sql, ResponseCommentDto.class).setParameter("postId", postId).getResultList();
+        return setCursor(query, cursor).setMaxResults(limit).getResultList();
     }
 
-    public List<ResponseCommentDto> getReplies(Long postId) {
-        String sql = "SELECT new com.example.firstproject.domain.dto.comment.ResponseCommentDto(c.id, c.post.id, c.member.id, c.parentCommentId, m.nickname, c.content, c.createdAt, c.updatedAt) " +
+    /**
+     * 여러 댓글에 달린 답글을 (작성일, 식별자) 순으로 한 번에 조회
+     */
+    public List<ResponseCommentDto> findRepliesByParentIds(List<Long> parentCommentIds) {
+        if (parentCommentIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String sql = "SELECT " + RESPONSE_COMMENT_DTO +
                 "FROM CommentEntity c JOIN c.member m " +
-                "WHERE c.post.id = :postId AND c.parentCommentId IS NOT NULL";
+                "WHERE c.parentCommentId IN :parentCommentIds " +
+                "ORDER BY c.createdAt, c.id";
+
+        return em.createQuery(sql, ResponseCommentDto.class).setParameter("parentCommentIds", parentCommentIds).getResultList();
+    }
+
+    /**
+     * 댓글의 답글 수를 delta만큼 변경
+     */
+    public void addReplyCnt(Long commentId, long delta) {
+        String sql = "update CommentEntity c set c.replyCnt = coalesce(c.replyCnt, 0) + :delta where c.id = :commentId";
+        em.createQuery(sql).setParameter("delta", delta).setParameter("commentId", commentId).executeUpdate();
+    }
+
+    private TypedQuery<ResponseCommentDto> setCursor(TypedQuery<ResponseCommentDto> query, CommentCursor cursor) {
+        if (cursor == null) {
+            return query;
+        }
 
-        return em.createQuery(sql, ResponseCommentDto.class).setParameter("postId", postId).getResultList();
+        return query.setParameter("createdAt", cursor.getCreatedAt()).setParameter("id", cursor.getId());
     }
 }
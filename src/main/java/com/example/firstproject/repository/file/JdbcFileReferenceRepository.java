@@ -0,0 +1,49 @@
+package com.example.firstproject.repository.file;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * JDBC 방식으로 저장된 첨부 파일(FILE 테이블)이 저장소의 파일을 참조하는지 확인하는 리포지토리
+ * JDBC 방식은 blob 참조 수를 관리하지 않고 저장 경로만 기록하므로 첨부 파일 정리 작업에서 경로로 참조 여부를 확인한다.
+ * FILE 테이블이 없으면(JPA 방식만 사용하는 경우) 참조하는 파일이 없는 것으로 본다.
+ */
+@Slf4j
+@Repository
+public class JdbcFileReferenceRepository {
+    private final NamedParameterJdbcTemplate template;
+
+    public JdbcFileReferenceRepository(DataSource dataSource) {
+        template = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    /**
+     * 전달받은 저장 경로 중 FILE 테이블에서 참조하는 경로 반환
+     */
+    public Set<String> findReferencedPaths(Collection<String> filePaths) {
+        if (filePaths.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        String sql = "SELECT DISTINCT filepath FROM FILE WHERE filepath IN (:filePaths)";
+
+        try {
+            return new HashSet<>(template.queryForList(sql, new MapSqlParameterSource("filePaths", filePaths), String.class));
+        } catch (BadSqlGrammarException e) {
+            log.debug("FILE 테이블을 조회하지 못했습니다. JDBC 첨부 파일이 없는 것으로 봅니다.", e);
+            return new HashSet<>();
+        }
+    }
+
+    public boolean existsByFilePath(String filePath) {
+        return !findReferencedPaths(Set.of(filePath)).isEmpty();
+    }
+}
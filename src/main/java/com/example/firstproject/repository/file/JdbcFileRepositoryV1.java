@@ -37,6 +37,37 @@ public class JdbcFileRepositoryV1 implements FileRepository {
         }
     }
 
+    @Override
+    public void saveAll(List<File> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+
+        String sql = "INSERT INTO FILE (post_id, filename, filepath, uploaded_At) VALUES (?, ?, ?, ?)";
+        Connection con = null;
+        PreparedStatement pstmt = null;
+
+        try {
+            con = getConnection();
+
+            pstmt = con.prepareStatement(sql);
+
+            for (File file : files) {
+                pstmt.setLong(1, file.getPostId());
+                pstmt.setString(2, file.getFileName());
+                pstmt.setString(3, file.getFilePath());
+                pstmt.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                pstmt.addBatch();
+            }
+
+            pstmt.executeBatch();
+        } catch (SQLException e) {
+            throw new DbException(e);
+        } finally {
+            close(con, pstmt, null);
+        }
+    }
+
     @Override
     public boolean checkFile(Long postId, String fileName) {
         String sql = "SELECT COUNT(*) FROM FILE WHERE post_id = ? AND fileName = ?";
@@ -1,5 +1,6 @@
 package com.example.firstproject.repository.file;
 
+import com.example.firstproject.common.db.DBConnectionUtils;
 import com.example.firstproject.domain.jdbc.File;
 import com.example.firstproject.repository.FileRepository;
 import lombok.extern.slf4j.Slf4j;
@@ -20,6 +21,13 @@ public class JdbcFileRepositoryV2 implements FileRepository {
     private final DataSource dataSource;
     private final SQLExceptionTranslator exTranslator;
 
+    /**
+     * DBConnectionUtils의 공유 커넥션 풀을 사용
+     */
+    public JdbcFileRepositoryV2() {
+        this(DBConnectionUtils.getDataSource());
+    }
+
     public JdbcFileRepositoryV2(DataSource dataSource) {
         this.dataSource = dataSource;
         this.exTranslator = new SQLErrorCodeSQLExceptionTranslator(dataSource);
@@ -47,6 +55,37 @@ public class JdbcFileRepositoryV2 implements FileRepository {
         }
     }
 
+    @Override
+    public void saveAll(List<File> files) {
+        if (files.isEmpty()) {
+            return;
+        }
+
+        String sql = "INSERT INTO FILE (post_id, filename, filepath, uploaded_At) VALUES (?, ?, ?, ?)";
+        Connection con = null;
+        PreparedStatement pstmt = null;
+
+        try {
+            con = getConnection();
+
+            pstmt = con.prepareStatement(sql);
+
+            for (File file : files) {
+                pstmt.setLong(1, file.getPostId());
+                pstmt.setString(2, file.getFileName());
+                pstmt.setString(3, file.getFilePath());
+                pstmt.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+                pstmt.addBatch();
+            }
+
+            pstmt.executeBatch();
+        } catch (SQLException e) {
+            throw Objects.requireNonNull(exTranslator.translate("saveAll", sql, e), "save files failed");
+        } finally {
+            close(con, pstmt, null);
+        }
+    }
+
     @Override
     public boolean checkFile(Long postId, String fileName) {
         String sql = "SELECT COUNT(*) FROM FILE WHERE post_id = ? AND fileName = ?";
@@ -26,6 +26,17 @@ public class JdbcFileRepositoryV3 implements FileRepository {
         template.update(sql, file.getPostId(), file.getFileName(), file.getFilePath(), file.getUploadedAt());
     }
 
+    @Override
+    public void saveAll(List<File> files) {
+        String sql = "INSERT INTO FILE (post_id, filename, filepath, uploaded_At) VALUES (?, ?, ?, ?)";
+
+        List<Object[]> params = files.stream()
+                .map(file -> new Object[] {file.getPostId(), file.getFileName(), file.getFilePath(), file.getUploadedAt()})
+                .toList();
+
+        template.batchUpdate(sql, params);
+    }
+
     @Override
     public boolean checkFile(Long postId, String fileName) {
         String sql = "SELECT COUNT(*) FROM FILE WHERE post_id = ? AND fileName = ?";
@@ -3,10 +3,12 @@ package com.example.firstproject.repository.file;
 import com.example.firstproject.domain.jdbc.File;
 import com.example.firstproject.repository.FileRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSourceUtils;
 import org.springframework.stereotype.Repository;
 
 import javax.sql.DataSource;
@@ -16,6 +18,7 @@ import java.util.Optional;
 
 @Slf4j
 @Repository
+@Lazy
 public class JdbcFileRepositoryV4 implements FileRepository {
     private final NamedParameterJdbcTemplate template;
 
@@ -33,6 +36,13 @@ public class JdbcFileRepositoryV4 implements FileRepository {
         template.update(sql, params);
     }
 
+    @Override
+    public void saveAll(List<File> files) {
+        String sql = "INSERT INTO FILE (post_id, filename, filepath, uploaded_At) VALUES (:postId, :fileName, :filePath, :uploadedAt)";
+
+        template.batchUpdate(sql, SqlParameterSourceUtils.createBatch(files));
+    }
+
     @Override
     public boolean checkFile(Long postId, String fileName) {
         String sql = "SELECT COUNT(*) FROM FILE WHERE post_id = :postId AND fileName = :fileName";
@@ -0,0 +1,46 @@
+package com.example.firstproject.repository.file;
+
+import com.example.firstproject.domain.DeleteJobStatus;
+import com.example.firstproject.domain.jpa.AttachmentGcRunEntity;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class JpaAttachmentGcRunRepository {
+    private final EntityManager em;
+
+    public void save(AttachmentGcRunEntity run) {
+        em.persist(run);
+    }
+
+    public Optional<AttachmentGcRunEntity> findById(Long id) {
+        return Optional.ofNullable(em.find(AttachmentGcRunEntity.class, id));
+    }
+
+    /**
+     * 가장 최근 작업이 끝나지 않았으면(실행 중 또는 실패) 해당 작업 조회
+     */
+    public Optional<AttachmentGcRunEntity> findLatestUnfinished() {
+        String sql = "select r from AttachmentGcRunEntity r order by r.id desc";
+
+        return em.createQuery(sql, AttachmentGcRunEntity.class)
+                .setMaxResults(1)
+                .getResultStream()
+                .filter(run -> run.getStatus() != DeleteJobStatus.COMPLETED)
+                .findFirst();
+    }
+
+    /**
+     * 최근에 실행된 작업 순으로 조회
+     */
+    public List<AttachmentGcRunEntity> findRecent(Integer limit) {
+        String sql = "select r from AttachmentGcRunEntity r order by r.id desc";
+
+        return em.createQuery(sql, AttachmentGcRunEntity.class).setMaxResults(limit).getResultList();
+    }
+}
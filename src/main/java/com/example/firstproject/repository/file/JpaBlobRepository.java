@@ -0,0 +1,67 @@
+package com.example.firstproject.repository.file;
+
+import com.example.firstproject.domain.jpa.BlobEntity;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class JpaBlobRepository {
+    private final EntityManager em;
+
+    public void save(BlobEntity blob) {
+        em.persist(blob);
+    }
+
+    public Optional<BlobEntity> findById(String hash) {
+        return Optional.ofNullable(em.find(BlobEntity.class, hash));
+    }
+
+    /**
+     * blob 정보가 없으면 참조 수 1로 저장하고, 있으면 참조 수를 1 증가 (MySQL upsert)
+     * 같은 내용의 파일이 동시에 처음 업로드되어도 하나의 문장으로 처리하므로 중복 키 오류가 발생하지 않는다.
+     */
+    public void acquire(String hash, long size, LocalDateTime createdAt) {
+        String sql = "insert into blob_entity (hash, size, ref_cnt, created_at) values (:hash, :size, 1, :createdAt) " +
+                "on duplicate key update ref_cnt = ref_cnt + 1";
+
+        em.createNativeQuery(sql)
+                .setParameter("hash", hash)
+                .setParameter("size", size)
+                .setParameter("createdAt", createdAt)
+                .executeUpdate();
+    }
+
+    /**
+     * 참조 수를 delta만큼 변경하고 변경된 행 수 반환 (저장된 blob이 없으면 0)
+     */
+    public int addRefCnt(String hash, long delta) {
+        String sql = "update BlobEntity b set b.refCnt = b.refCnt + :delta where b.hash = :hash";
+        return em.createQuery(sql).setParameter("delta", delta).setParameter("hash", hash).executeUpdate();
+    }
+
+    public int updateRefCnt(String hash, long refCnt) {
+        String sql = "update BlobEntity b set b.refCnt = :refCnt where b.hash = :hash";
+        return em.createQuery(sql).setParameter("refCnt", refCnt).setParameter("hash", hash).executeUpdate();
+    }
+
+    /**
+     * 주어진 blob 중에서 더 이상 참조하는 첨부 파일이 없는 blob 정보를 삭제하고 삭제한 행 수 반환
+     * 참조 수 확인과 삭제를 하나의 문장으로 처리하므로 그 사이에 다시 참조된 blob은 삭제하지 않는다.
+     */
+    public int deleteUnreferenced(Collection<String> hashes) {
+        String sql = "delete from BlobEntity b where b.hash in :hashes and b.refCnt <= 0";
+        return em.createQuery(sql).setParameter("hashes", hashes).executeUpdate();
+    }
+
+    public void deleteByHashes(Collection<String> hashes) {
+        String sql = "delete from BlobEntity b where b.hash in :hashes";
+        em.createQuery(sql).setParameter("hashes", hashes).executeUpdate();
+    }
+}
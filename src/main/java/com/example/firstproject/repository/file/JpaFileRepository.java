@@ -5,7 +5,11 @@ import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Repository
 @RequiredArgsConstructor
@@ -34,6 +38,66 @@ public class JpaFileRepository {
         em.createQuery(sql).setParameter("memberId", memberId).executeUpdate();
     }
 
+    public Optional<FileEntity> findByPostIdAndFileName(Long postId, String fileName) {
+        String sql = "select f from FileEntity f where f.post.id = :postId and f.fileName = :fileName";
+
+        return em.createQuery(sql, FileEntity.class)
+                .setParameter("postId", postId)
+                .setParameter("fileName", fileName)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * 게시글들에 첨부된 파일이 참조하는 blob의 해시 조회 (같은 blob을 여러 번 참조하면 참조한 수만큼 반환)
+     */
+    public List<String> findHashesByPostIds(List<Long> postIds) {
+        String sql = "select f.hash from FileEntity f where f.post.id in :postIds and f.hash is not null";
+
+        return em.createQuery(sql, String.class).setParameter("postIds", postIds).getResultList();
+    }
+
+    /**
+     * 게시글들에 첨부된 파일 중 blob 저장소 도입 전에 원본 파일명으로 저장된 파일의 저장 경로 조회
+     */
+    public List<String> findLegacyPathsByPostIds(List<Long> postIds) {
+        String sql = "select f.filePath from FileEntity f where f.post.id in :postIds and f.hash is null";
+
+        return em.createQuery(sql, String.class).setParameter("postIds", postIds).getResultList();
+    }
+
+    public void deleteByPostIds(List<Long> postIds) {
+        String sql = "delete from FileEntity f where f.post.id in :postIds";
+
+        em.createQuery(sql).setParameter("postIds", postIds).executeUpdate();
+    }
+
+    /**
+     * blob별로 참조하는 첨부 파일 수 조회 (참조하는 첨부 파일이 없는 blob은 결과에 없다)
+     */
+    public Map<String, Long> countByHashes(Collection<String> hashes) {
+        Map<String, Long> counts = new HashMap<>();
+
+        if (hashes.isEmpty()) {
+            return counts;
+        }
+
+        String sql = "select f.hash, count(f) from FileEntity f where f.hash in :hashes group by f.hash";
+
+        for (Object[] row : em.createQuery(sql, Object[].class).setParameter("hashes", hashes).getResultList()) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+
+        return counts;
+    }
+
+    public boolean existsByFilePath(String filePath) {
+        String sql = "select count(f) from FileEntity f where f.filePath = :filePath";
+        Long count = em.createQuery(sql, Long.class).setParameter("filePath", filePath).getSingleResult();
+
+        return count > 0;
+    }
+
     public boolean checkFile(Long postId, String fileName) {
         String sql = "select count(f) from FileEntity f where f.post.id = :postId and f.fileName = :fileName";
         Long count = em.createQuery(sql, Long.class).setParameter("postId", postId).setParameter("fileName", fileName).getSingleResult();
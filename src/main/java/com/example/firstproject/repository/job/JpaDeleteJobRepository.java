@@ -0,0 +1,59 @@
+package com.example.firstproject.repository.job;
+
+import com.example.firstproject.domain.DeleteJobStatus;
+import com.example.firstproject.domain.DeleteTarget;
+import com.example.firstproject.domain.jpa.DeleteJobEntity;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class JpaDeleteJobRepository {
+    private static final List<DeleteJobStatus> UNFINISHED = List.of(DeleteJobStatus.PENDING, DeleteJobStatus.RUNNING);
+
+    private final EntityManager em;
+
+    public void save(DeleteJobEntity job) {
+        em.persist(job);
+    }
+
+    public Optional<DeleteJobEntity> findById(Long id) {
+        return Optional.ofNullable(em.find(DeleteJobEntity.class, id));
+    }
+
+    /**
+     * 끝나지 않은(대기 중이거나 실행 중인) 작업을 요청 순으로 조회
+     */
+    public List<DeleteJobEntity> findUnfinished() {
+        String sql = "select j from DeleteJobEntity j where j.status in :statuses order by j.id";
+
+        return em.createQuery(sql, DeleteJobEntity.class).setParameter("statuses", UNFINISHED).getResultList();
+    }
+
+    /**
+     * 같은 대상에 대해 끝나지 않은 작업 조회
+     */
+    public Optional<DeleteJobEntity> findUnfinished(DeleteTarget target, Long targetId) {
+        String sql = "select j from DeleteJobEntity j where j.target = :target and j.targetId = :targetId and j.status in :statuses";
+
+        return em.createQuery(sql, DeleteJobEntity.class)
+                .setParameter("target", target)
+                .setParameter("targetId", targetId)
+                .setParameter("statuses", UNFINISHED)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * 최근에 요청된 작업 순으로 조회
+     */
+    public List<DeleteJobEntity> findRecent(Integer limit) {
+        String sql = "select j from DeleteJobEntity j order by j.id desc";
+
+        return em.createQuery(sql, DeleteJobEntity.class).setMaxResults(limit).getResultList();
+    }
+}
@@ -25,6 +25,13 @@ public class JdbcMemberRepositoryV2 implements MemberRepository {
     private final DataSource dataSource;
     private final SQLExceptionTranslator exTranslator; // SQL 예외 변환기
 
+    /**
+     * DBConnectionUtils의 공유 커넥션 풀을 사용
+     */
+    public JdbcMemberRepositoryV2() {
+        this(DBConnectionUtils.getDataSource());
+    }
+
     public JdbcMemberRepositoryV2(DataSource dataSource) {
         this.dataSource = dataSource;
         this.exTranslator = new SQLErrorCodeSQLExceptionTranslator(dataSource);
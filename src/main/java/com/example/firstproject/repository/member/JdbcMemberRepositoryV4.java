@@ -7,6 +7,7 @@ import com.example.firstproject.domain.dto.member.UpdateMemberDto;
 import com.example.firstproject.domain.jdbc.Member;
 import com.example.firstproject.repository.MemberRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -26,6 +27,7 @@ import java.util.Optional;
  */
 @Slf4j
 @Repository
+@Lazy
 public class JdbcMemberRepositoryV4 implements MemberRepository {
     private final NamedParameterJdbcTemplate template;
 
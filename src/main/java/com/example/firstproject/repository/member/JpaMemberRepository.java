@@ -1,5 +1,6 @@
 package com.example.firstproject.repository.member;
 
+import com.example.firstproject.domain.dto.PagedResult;
 import com.example.firstproject.domain.dto.SearchCondition;
 import com.example.firstproject.domain.dto.member.MemberDetails;
 import com.example.firstproject.domain.dto.member.UpdateMemberDto;
@@ -9,6 +10,7 @@ import jakarta.persistence.NoResultException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -32,6 +34,13 @@ public class JpaMemberRepository {
         return Optional.of(member);
     }
 
+    /**
+     * 조회 쿼리 없이 식별자로 회원 엔티티의 참조(프록시)를 반환 (연관관계를 설정할 때 사용)
+     */
+    public MemberEntity getReference(Long id) {
+        return em.getReference(MemberEntity.class, id);
+    }
+
     public Optional<MemberEntity> findByLoginId(String loginId) {
         try {
             MemberEntity member = em.createQuery("select m from MemberEntity m where m.loginId = :loginId", MemberEntity.class).setParameter("loginId", loginId).getSingleResult();
@@ -62,48 +71,53 @@ public class JpaMemberRepository {
         return count > 0;
     }
 
+    public List<MemberDetails> findAll(Integer offset, Integer limit) {
+        String sql = "select new com.example.firstproject.domain.dto.member.MemberDetails(m.id, m.loginId, m.username, m.nickname, m.createdAt, m.updatedAt, m.role) " +
+                "from MemberEntity m";
+        return em.createQuery(sql, MemberDetails.class).setFirstResult(offset).setMaxResults(limit).getResultList();
+    }
+
     /**
-     * 검색 조건에 해당하는 게시글 목록에 페이징 처리를 하여 반환
+     * 검색 조건에 해당하는 회원 목록과 전체 검색 결과 수를 한 번의 쿼리로 반환
+     * count(*) over()로 페이지를 자르기 전의 전체 행 수를 각 행에 함께 조회하고, 요청한 페이지가 비어 있을 때만 count 쿼리를 실행한다.
      */
-    public List<MemberDetails> getPagedMembersBySearchCondition(Map<String, Integer> map, SearchCondition sc) {
+    public PagedResult<MemberDetails> searchPagedMembers(Map<String, Integer> map, SearchCondition sc) {
         Integer offset = map.get("offset");
         Integer pageSize = map.get("pageSize");
 
-        return switch (sc.getOption()) {
-            case "I" -> findByLoginId(offset, pageSize, sc.getKeyword());
-            case "U" -> findByUsername(offset, pageSize, sc.getKeyword());
-            case "N" -> findByNickname(offset, pageSize, sc.getKeyword());
-            default -> findAll(offset, pageSize);
+        String condition = switch (sc.getOption()) {
+            case "I" -> "m.loginId like :keyword";
+            case "U" -> "m.username like :keyword";
+            case "N" -> "m.nickname like :keyword";
+            default -> null;
         };
-    }
 
-    public List<MemberDetails> findByLoginId(Integer offset, Integer limit, String keyword) {
-        String sql = "select new com.example.firstproject.domain.dto.member.MemberDetails(m.id, m.loginId, m.username, m.nickname, m.createdAt, m.updatedAt, m.role) " +
+        if (condition == null) {
+            return new PagedResult<>(findAll(offset, pageSize), getCountAll());
+        }
+
+        String sql = "select new com.example.firstproject.domain.dto.member.MemberDetails(m.id, m.loginId, m.username, m.nickname, m.createdAt, m.updatedAt, m.role), count(*) over() " +
                 "from MemberEntity m " +
-                "where m.loginId like :keyword";
-        return em.createQuery(sql, MemberDetails.class).setParameter("keyword", "%" + keyword + "%").setFirstResult(offset).setMaxResults(limit).getResultList();
-    }
+                "where " + condition + " " +
+                "order by m.id";
 
+        List<Object[]> rows = em.createQuery(sql, Object[].class)
+                .setParameter("keyword", "%" + sc.getKeyword() + "%")
+                .setFirstResult(offset)
+                .setMaxResults(pageSize)
+                .getResultList();
 
-    public List<MemberDetails> findByUsername(Integer offset, Integer limit, String keyword) {
-        String sql = "select new com.example.firstproject.domain.dto.member.MemberDetails(m.id, m.loginId, m.username, m.nickname, m.createdAt, m.updatedAt, m.role) " +
-                "from MemberEntity m " +
-                "where m.username like :keyword";
-        return em.createQuery(sql, MemberDetails.class).setParameter("keyword", "%" + keyword + "%").setFirstResult(offset).setMaxResults(limit).getResultList();
-    }
+        if (rows.isEmpty()) {
+            return new PagedResult<>(new ArrayList<>(), offset == 0 ? 0 : getCountBySearchCondition(sc));
+        }
 
+        List<MemberDetails> members = new ArrayList<>(rows.size());
 
-    public List<MemberDetails> findByNickname(Integer offset, Integer limit, String keyword) {
-        String sql = "select new com.example.firstproject.domain.dto.member.MemberDetails(m.id, m.loginId, m.username, m.nickname, m.createdAt, m.updatedAt, m.role) " +
-                "from MemberEntity m " +
-                "where m.nickname like :keyword";
-        return em.createQuery(sql, MemberDetails.class).setParameter("keyword", "%" + keyword + "%").setFirstResult(offset).setMaxResults(limit).getResultList();
-    }
+        for (Object[] row : rows) {
+            members.add((MemberDetails) row[0]);
+        }
 
-    public List<MemberDetails> findAll(Integer offset, Integer limit) {
-        String sql = "select new com.example.firstproject.domain.dto.member.MemberDetails(m.id, m.loginId, m.username, m.nickname, m.createdAt, m.updatedAt, m.role) " +
-                "from MemberEntity m";
-        return em.createQuery(sql, MemberDetails.class).setFirstResult(offset).setMaxResults(limit).getResultList();
+        return new PagedResult<>(members, ((Number) rows.get(0)[1]).intValue());
     }
 
     /**
@@ -5,6 +5,7 @@ import com.example.firstproject.domain.dto.post.PostDto;
 import com.example.firstproject.domain.jdbc.File;
 import com.example.firstproject.domain.jdbc.Member;
 import com.example.firstproject.domain.jdbc.Post;
+import com.example.firstproject.domain.dto.PostCursor;
 import com.example.firstproject.domain.dto.SearchCondition;
 import com.example.firstproject.common.db.DBConnectionUtils;
 import com.example.firstproject.repository.PostRepository;
@@ -78,12 +79,17 @@ public class JdbcPostRepositoryV1 implements PostRepository {
             // 파일 저장
             fileStmt = con.prepareStatement(fileSql);
 
+            // 파일마다 executeUpdate()를 호출하지 않고 모아서 한 번에 전송
             for (File file : files) {
                 fileStmt.setLong(1, postId);
                 fileStmt.setString(2, file.getFileName());
                 fileStmt.setString(3, file.getFilePath());
                 fileStmt.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
-                fileStmt.executeUpdate();
+                fileStmt.addBatch();
+            }
+
+            if (!files.isEmpty()) {
+                fileStmt.executeBatch();
             }
         } catch (SQLException e) {
             throw new DbException(e);
@@ -582,7 +588,7 @@ public class JdbcPostRepositoryV1 implements PostRepository {
     @Override
     public List<PostDetails> findAll(Integer offset, Integer limit) {
         String sql = "select p.id, p.title, p.content, m.nickname, p.created_at, p.updated_at, p.view_cnt " +
-                "from Post p join Member m on p.member_id = m.id limit ? offset ?";
+                "from Post p join Member m on p.member_id = m.id order by p.created_at, p.id limit ? offset ?";
 
         Connection con = null;
         PreparedStatement pstmt = null;
@@ -621,6 +627,65 @@ public class JdbcPostRepositoryV1 implements PostRepository {
         }
     }
 
+    @Override
+    public List<PostDetails> findAllAfter(PostCursor cursor, Integer limit) {
+        String sql = "select p.id, p.title, p.content, m.nickname, p.created_at, p.updated_at, p.view_cnt " +
+                "from Post p join Member m on p.member_id = m.id " +
+                "where p.created_at > ? or (p.created_at = ? and p.id > ?) " +
+                "order by p.created_at, p.id limit ?";
+
+        return findAllByCursor(sql, cursor, limit);
+    }
+
+    @Override
+    public List<PostDetails> findAllBefore(PostCursor cursor, Integer limit) {
+        String sql = "select p.id, p.title, p.content, m.nickname, p.created_at, p.updated_at, p.view_cnt " +
+                "from Post p join Member m on p.member_id = m.id " +
+                "where p.created_at < ? or (p.created_at = ? and p.id < ?) " +
+                "order by p.created_at desc, p.id desc limit ?";
+
+        List<PostDetails> postList = findAllByCursor(sql, cursor, limit);
+        Collections.reverse(postList);
+
+        return postList;
+    }
+
+    private List<PostDetails> findAllByCursor(String sql, PostCursor cursor, Integer limit) {
+        Connection con = null;
+        PreparedStatement pstmt = null;
+        ResultSet rs = null;
+        List<PostDetails> postList = new ArrayList<>();
+
+        try {
+            con = getConnection();
+            pstmt = con.prepareStatement(sql);
+
+            pstmt.setTimestamp(1, Timestamp.valueOf(cursor.getCreatedAt()));
+            pstmt.setTimestamp(2, Timestamp.valueOf(cursor.getCreatedAt()));
+            pstmt.setLong(3, cursor.getId());
+            pstmt.setInt(4, limit);
+
+            rs = pstmt.executeQuery();
+
+            while(rs.next()) {
+                postList.add(PostDetails.builder()
+                        .id(rs.getLong("id"))
+                        .title(rs.getString("title"))
+                        .nickname(rs.getString("nickname"))
+                        .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                        .updatedAt(Optional.ofNullable(rs.getTimestamp("updated_at")).map(Timestamp::toLocalDateTime).orElse(null))
+                        .viewCnt(rs.getLong("view_cnt"))
+                        .build());
+            }
+
+            return postList;
+        } catch (SQLException e) {
+            throw new DbException(e);
+        } finally {
+            close(con, pstmt, rs);
+        }
+    }
+
     /**
      * 검색 조건에 해당하는 나의 게시글 수 구하기
      */
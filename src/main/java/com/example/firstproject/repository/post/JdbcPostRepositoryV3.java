@@ -5,6 +5,7 @@ import com.example.firstproject.domain.dto.post.PostDto;
 import com.example.firstproject.domain.jdbc.File;
 import com.example.firstproject.domain.jdbc.Member;
 import com.example.firstproject.domain.jdbc.Post;
+import com.example.firstproject.domain.dto.PostCursor;
 import com.example.firstproject.domain.dto.SearchCondition;
 import com.example.firstproject.repository.PostRepository;
 import com.example.firstproject.common.exception.DbException;
@@ -64,9 +65,12 @@ public class JdbcPostRepositoryV3 implements PostRepository {
         long postId = key.longValue();
         System.out.println("postId = " + postId);
 
-        for (File file : files) {
-            template.update(fileSql, postId, file.getFileName(), file.getFilePath(), Timestamp.valueOf(LocalDateTime.now()));
-        }
+        // 파일마다 update()를 호출하지 않고 batchUpdate()로 모아서 한 번에 전송
+        List<Object[]> fileParams = files.stream()
+                .map(file -> new Object[] {postId, file.getFileName(), file.getFilePath(), Timestamp.valueOf(LocalDateTime.now())})
+                .toList();
+
+        template.batchUpdate(fileSql, fileParams);
     }
 
     @Override
@@ -199,11 +203,38 @@ public class JdbcPostRepositoryV3 implements PostRepository {
     @Override
     public List<PostDetails> findAll(Integer offset, Integer limit) {
         String sql = "select p.id, p.title, p.content, m.nickname, p.created_at, p.updated_at, p.view_cnt " +
-                "from Post p join member m on p.member_id = m.id limit ? offset ?";
+                "from Post p join member m on p.member_id = m.id order by p.created_at, p.id limit ? offset ?";
 
         return template.query(sql, postDetailsRowMapper(), limit, offset);
     }
 
+    @Override
+    public List<PostDetails> findAllAfter(PostCursor cursor, Integer limit) {
+        String sql = "select p.id, p.title, p.content, m.nickname, p.created_at, p.updated_at, p.view_cnt " +
+                "from Post p join member m on p.member_id = m.id " +
+                "where p.created_at > ? or (p.created_at = ? and p.id > ?) " +
+                "order by p.created_at, p.id limit ?";
+
+        Timestamp createdAt = Timestamp.valueOf(cursor.getCreatedAt());
+
+        return template.query(sql, postDetailsRowMapper(), createdAt, createdAt, cursor.getId(), limit);
+    }
+
+    @Override
+    public List<PostDetails> findAllBefore(PostCursor cursor, Integer limit) {
+        String sql = "select p.id, p.title, p.content, m.nickname, p.created_at, p.updated_at, p.view_cnt " +
+                "from Post p join member m on p.member_id = m.id " +
+                "where p.created_at < ? or (p.created_at = ? and p.id < ?) " +
+                "order by p.created_at desc, p.id desc limit ?";
+
+        Timestamp createdAt = Timestamp.valueOf(cursor.getCreatedAt());
+
+        List<PostDetails> posts = template.query(sql, postDetailsRowMapper(), createdAt, createdAt, cursor.getId(), limit);
+        Collections.reverse(posts);
+
+        return posts;
+    }
+
     /**
      * 검색 조건에 해당하는 나의 게시글 수 구하기
      */
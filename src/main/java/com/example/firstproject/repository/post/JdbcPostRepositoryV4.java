@@ -2,6 +2,7 @@ package com.example.firstproject.repository.post;
 
 import com.example.firstproject.domain.dto.post.PostDetails;
 import com.example.firstproject.domain.dto.post.PostDto;
+import com.example.firstproject.domain.dto.PostCursor;
 import com.example.firstproject.domain.dto.SearchCondition;
 import com.example.firstproject.domain.jdbc.File;
 import com.example.firstproject.domain.jdbc.Member;
@@ -9,10 +10,12 @@ import com.example.firstproject.domain.jdbc.Post;
 import com.example.firstproject.repository.PostRepository;
 import com.example.firstproject.common.exception.DbException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
@@ -20,6 +23,7 @@ import org.springframework.stereotype.Repository;
 import javax.sql.DataSource;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -27,6 +31,7 @@ import java.util.Optional;
 
 @Slf4j
 @Repository
+@Lazy
 public class JdbcPostRepositoryV4 implements PostRepository {
     private final NamedParameterJdbcTemplate template;
 
@@ -70,14 +75,16 @@ public class JdbcPostRepositoryV4 implements PostRepository {
 
         long postId = key.longValue();
 
-        for (File file : files) {
-            MapSqlParameterSource fileParams = new MapSqlParameterSource()
-                    .addValue("postId", postId)
-                    .addValue("fileName", file.getFileName())
-                    .addValue("filePath", file.getFilePath())
-                    .addValue("uploadedAt", Timestamp.valueOf(LocalDateTime.now()));
-            template.update(fileSql, fileParams);
-        }
+        // 파일마다 update()를 호출하지 않고 batchUpdate()로 모아서 한 번에 전송
+        SqlParameterSource[] fileParams = files.stream()
+                .map(file -> new MapSqlParameterSource()
+                        .addValue("postId", postId)
+                        .addValue("fileName", file.getFileName())
+                        .addValue("filePath", file.getFilePath())
+                        .addValue("uploadedAt", Timestamp.valueOf(LocalDateTime.now())))
+                .toArray(SqlParameterSource[]::new);
+
+        template.batchUpdate(fileSql, fileParams);
     }
 
     @Override
@@ -258,7 +265,8 @@ public class JdbcPostRepositoryV4 implements PostRepository {
     @Override
     public List<PostDetails> findAll(Integer offset, Integer limit) {
         String sql = "select p.id, p.title, p.content, m.nickname, p.created_at, p.updated_at, p.view_cnt " +
-                "from Post p join member m on p.member_id = m.id limit :limit offset :offset";
+                "from Post p join member m on p.member_id = m.id " +
+                "order by p.created_at, p.id limit :limit offset :offset";
 
         MapSqlParameterSource params = new MapSqlParameterSource()
                 .addValue("offset", offset)
@@ -267,6 +275,45 @@ public class JdbcPostRepositoryV4 implements PostRepository {
         return template.query(sql, params, postDetailsRowMapper());
     }
 
+    /**
+     * 커서 이후의 게시글 목록 반환 (다음 페이지)
+     */
+    @Override
+    public List<PostDetails> findAllAfter(PostCursor cursor, Integer limit) {
+        String sql = "select p.id, p.title, p.content, m.nickname, p.created_at, p.updated_at, p.view_cnt " +
+                "from Post p join member m on p.member_id = m.id " +
+                "where p.created_at > :createdAt or (p.created_at = :createdAt and p.id > :id) " +
+                "order by p.created_at, p.id limit :limit";
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("createdAt", Timestamp.valueOf(cursor.getCreatedAt()))
+                .addValue("id", cursor.getId())
+                .addValue("limit", limit);
+
+        return template.query(sql, params, postDetailsRowMapper());
+    }
+
+    /**
+     * 커서 이전의 게시글 목록 반환 (이전 페이지)
+     */
+    @Override
+    public List<PostDetails> findAllBefore(PostCursor cursor, Integer limit) {
+        String sql = "select p.id, p.title, p.content, m.nickname, p.created_at, p.updated_at, p.view_cnt " +
+                "from Post p join member m on p.member_id = m.id " +
+                "where p.created_at < :createdAt or (p.created_at = :createdAt and p.id < :id) " +
+                "order by p.created_at desc, p.id desc limit :limit";
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("createdAt", Timestamp.valueOf(cursor.getCreatedAt()))
+                .addValue("id", cursor.getId())
+                .addValue("limit", limit);
+
+        List<PostDetails> posts = template.query(sql, params, postDetailsRowMapper());
+        Collections.reverse(posts);
+
+        return posts;
+    }
+
     /**
      * 검색 조건에 해당하는 나의 게시글 수 구하기
      */
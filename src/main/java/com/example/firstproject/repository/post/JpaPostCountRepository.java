@@ -0,0 +1,41 @@
+package com.example.firstproject.repository.post;
+
+import com.example.firstproject.domain.jpa.PostCountEntity;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class JpaPostCountRepository {
+    private final EntityManager em;
+
+    public void save(PostCountEntity postCount) {
+        em.persist(postCount);
+    }
+
+    public PostCountEntity findById(Long memberId) {
+        return em.find(PostCountEntity.class, memberId);
+    }
+
+    /**
+     * 전체 게시글 수와 회원의 게시글 수를 한 번에 변경
+     * 엔티티를 읽어서 값을 바꾸지 않고 update 문으로 처리하기 때문에 동시에 여러 게시글이 저장되어도 값이 유실되지 않는다.
+     * 집계 행이 없는 경우 아무 것도 변경하지 않는다. (집계 행은 PostCountInitializer가 시작시 실제 게시글 수로 만든다)
+     */
+    public void addPostCnt(Long memberId, long delta) {
+        String sql = "update PostCountEntity c set c.postCnt = c.postCnt + :delta where c.memberId in (:globalId, :memberId)";
+
+        em.createQuery(sql)
+                .setParameter("delta", delta)
+                .setParameter("globalId", PostCountEntity.GLOBAL_ID)
+                .setParameter("memberId", memberId)
+                .executeUpdate();
+    }
+
+    public void deleteById(Long memberId) {
+        String sql = "delete from PostCountEntity c where c.memberId = :memberId";
+
+        em.createQuery(sql).setParameter("memberId", memberId).executeUpdate();
+    }
+}
@@ -1,20 +1,32 @@
 package com.example.firstproject.repository.post;
 
+import com.example.firstproject.domain.dto.PagedResult;
+import com.example.firstproject.domain.dto.PostCursor;
 import com.example.firstproject.domain.dto.SearchCondition;
 import com.example.firstproject.domain.dto.post.PostDetails;
 import com.example.firstproject.domain.dto.post.PostDto;
-import com.example.firstproject.domain.jpa.MemberEntity;
 import com.example.firstproject.domain.jpa.PostEntity;
+import com.example.firstproject.common.search.PostDocument;
+import com.example.firstproject.common.view.ViewCountWriter;
+import com.example.firstproject.common.view.ViewerSketchWriter;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
 
 @Repository
 @RequiredArgsConstructor
-public class JpaPostRepository {
+public class JpaPostRepository implements ViewCountWriter, ViewerSketchWriter {
+    private static final int VIEW_CNT_CHUNK_SIZE = 100; // 조회수를 한 번의 update 문으로 반영할 게시글 수
+    private static final String ADD_VIEW_CNTS_SQL = addViewCntsSql();
+
     private final EntityManager em;
 
     public void save(PostEntity post) {
@@ -25,14 +37,137 @@ public class JpaPostRepository {
         em.find(PostEntity.class, id).update(postDto);
     }
 
+    /**
+     * 게시글 페이지가 바뀌었는지 확인하는데 필요한 값 조회 (작성 시각, 수정 시각, 댓글 버전)
+     */
+    public Optional<Object[]> findVersionById(Long id) {
+        String sql = "select p.createdAt, p.updatedAt, p.commentVersion from PostEntity p where p.id = :id";
+
+        return em.createQuery(sql, Object[].class).setParameter("id", id).getResultStream().findFirst();
+    }
+
+    /**
+     * 게시글의 저장된 조회수와 순 조회자 스케치 조회
+     */
+    public Optional<Object[]> findCountsById(Long id) {
+        String sql = "select p.viewCnt, p.viewerSketch from PostEntity p where p.id = :id";
+
+        return em.createQuery(sql, Object[].class).setParameter("id", id).getResultStream().findFirst();
+    }
+
+    /**
+     * 게시글의 댓글 버전 증가 (댓글 작성/수정/삭제)
+     */
+    public void increaseCommentVersion(Long id) {
+        String sql = "update PostEntity p set p.commentVersion = coalesce(p.commentVersion, 0) + 1 where p.id = :id";
+        em.createQuery(sql).setParameter("id", id).executeUpdate();
+    }
+
+    /**
+     * 회원이 작성한 게시글과 회원이 댓글을 작성한 게시글의 댓글 버전 증가 (닉네임 변경, 회원 탈퇴)
+     */
+    public void increaseCommentVersionByMemberId(Long memberId) {
+        String sql = "update PostEntity p set p.commentVersion = coalesce(p.commentVersion, 0) + 1 " +
+                "where p.member.id = :memberId " +
+                "or p.id in (select c.post.id from CommentEntity c where c.member.id = :memberId)";
+        em.createQuery(sql).setParameter("memberId", memberId).executeUpdate();
+    }
+
     public void updateViewCnt(Long id) {
         em.find(PostEntity.class, id).incrementViewCnt();
     }
 
+    /**
+     * 여러 게시글의 조회수 증가분을 VIEW_CNT_CHUNK_SIZE개씩 하나의 update 문으로 반영
+     * update PostEntity p set p.viewCnt = p.viewCnt + case p.id when :id0 then :cnt0 ... end where p.id in (:id0, ...)
+     * 증가분 개수마다 다른 문장을 만들면 문장이 한없이 길어지고 쿼리 계획 캐시에 문장이 계속 쌓이므로
+     * 마지막 묶음은 존재하지 않는 식별자(-1)로 채워서 항상 같은 문장 하나만 사용한다.
+     */
+    @Override
+    @Transactional
+    public void addViewCnts(Map<Long, Long> deltas) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(deltas.entrySet());
+
+        for (int from = 0; from < entries.size(); from += VIEW_CNT_CHUNK_SIZE) {
+            Query query = em.createQuery(ADD_VIEW_CNTS_SQL);
+
+            for (int i = 0; i < VIEW_CNT_CHUNK_SIZE; i++) {
+                Map.Entry<Long, Long> entry = from + i < entries.size() ? entries.get(from + i) : null;
+
+                query.setParameter("id" + i, entry != null ? entry.getKey() : -1L);
+                query.setParameter("cnt" + i, entry != null ? entry.getValue() : 0L);
+            }
+
+            query.executeUpdate();
+        }
+    }
+
+    private static String addViewCntsSql() {
+        StringBuilder sql = new StringBuilder("update PostEntity p set p.viewCnt = p.viewCnt + case p.id");
+        StringBuilder ids = new StringBuilder();
+
+        for (int i = 0; i < VIEW_CNT_CHUNK_SIZE; i++) {
+            sql.append(" when :id").append(i).append(" then :cnt").append(i);
+            ids.append(i == 0 ? ":id" : ", :id").append(i);
+        }
+
+        return sql.append(" else 0L end where p.id in (").append(ids).append(")").toString();
+    }
+
+    /**
+     * 여러 게시글의 순 조회자 스케치를 저장된 스케치와 합쳐서 반영
+     * 여러 서버가 동시에 반영해도 스케치가 유실되지 않도록 게시글을 식별자 순서로 잠그고 합친다.
+     */
+    @Override
+    @Transactional
+    public void mergeViewerSketches(Map<Long, byte[]> sketches) {
+        String sql = "select p from PostEntity p where p.id in :ids order by p.id";
+
+        List<PostEntity> posts = em.createQuery(sql, PostEntity.class)
+                .setParameter("ids", sketches.keySet())
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+
+        for (PostEntity post : posts) {
+            post.mergeViewerSketch(sketches.get(post.getId()));
+        }
+    }
+
+    /**
+     * 게시글 식별자별 순 조회자 스케치 조회 (관리자 게시글 목록)
+     */
+    public Map<Long, byte[]> findViewerSketches(List<Long> ids) {
+        Map<Long, byte[]> sketches = new HashMap<>();
+
+        if (ids.isEmpty()) {
+            return sketches;
+        }
+
+        String sql = "select p.id, p.viewerSketch from PostEntity p where p.id in :ids and p.viewerSketch is not null";
+
+        for (Object[] row : em.createQuery(sql, Object[].class).setParameter("ids", ids).getResultList()) {
+            sketches.put((Long) row[0], (byte[]) row[1]);
+        }
+
+        return sketches;
+    }
+
     public PostEntity findById(Long id) {
         return em.find(PostEntity.class, id);
     }
 
+    /**
+     * 게시글 상세 페이지를 위해서 작성자와 첨부 파일을 함께 조회 (fetch join)
+     */
+    public Optional<PostEntity> findDetailById(Long id) {
+        String sql = "select distinct p from PostEntity p join fetch p.member left join fetch p.files where p.id = :id";
+
+        return em.createQuery(sql, PostEntity.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
     public List<PostEntity> findAll() {
         return em.createQuery("select p from PostEntity p", PostEntity.class).getResultList();
     }
@@ -47,23 +182,74 @@ public class JpaPostRepository {
         em.remove(em.find(PostEntity.class, id));
     }
 
+    /**
+     * 회원이 작성한 게시글의 식별자를 식별자 순으로 limit개 조회
+     */
+    public List<Long> findIdsByMemberId(Long memberId, Integer limit) {
+        return em.createQuery("select p.id from PostEntity p where p.member.id = :memberId order by p.id", Long.class)
+                .setParameter("memberId", memberId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    public void deleteByIds(List<Long> ids) {
+        em.createQuery("delete from PostEntity p where p.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
     public void deleteByMemberId(Long memberId) {
         em.createQuery("delete from PostEntity p where p.member.id = :memberId")
                 .setParameter("memberId", memberId)
                 .executeUpdate();
     }
 
+    /**
+     * 검색 색인 생성을 위해서 식별자 순으로 게시글을 나누어 반환
+     */
+    public List<PostDocument> findDocuments(Long afterId, Integer limit) {
+        String sql = "select new com.example.firstproject.common.search.PostDocument(p.id, m.id, p.title, p.content, m.nickname) " +
+                "from PostEntity p join p.member m " +
+                "where p.id > :afterId order by p.id";
+
+        return em.createQuery(sql, PostDocument.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 식별자 목록에 해당하는 게시글 목록을 식별자 목록의 순서대로 반환 (검색 색인의 관련도 순서 유지)
+     */
+    public List<PostDetails> findByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String sql = "select new com.example.firstproject.domain.dto.post.PostDetails(p.id, p.title, p.content, m.nickname, p.createdAt, p.updatedAt, p.viewCnt) " +
+                "from PostEntity p join p.member m " +
+                "where p.id in :ids";
+
+        Map<Long, PostDetails> postMap = new HashMap<>();
+
+        for (PostDetails post : em.createQuery(sql, PostDetails.class).setParameter("ids", ids).getResultList()) {
+            postMap.put(post.getId(), post);
+        }
+
+        return ids.stream().map(postMap::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
     /**
      * 검색 조건에 해당하는 나의 게시글 목록에 페이징 처리를 하여 반환
      */
-    public List<PostDetails> getPagedMyPostsBySearchCondition(Map<String, Integer> map, SearchCondition sc, MemberEntity member) {
+    public List<PostDetails> getPagedMyPostsBySearchCondition(Map<String, Integer> map, SearchCondition sc, Long memberId) {
         Integer offset = map.get("offset");
         Integer pageSize = map.get("pageSize");
 
         return switch (sc.getOption()) {
-            case "C" -> findByContent(offset, pageSize, sc.getKeyword(), member.getId());
-            case "T" -> findByTitle(offset, pageSize, sc.getKeyword(), member.getId());
-            default -> findAll(offset, pageSize, member.getId());
+            case "C" -> findByContent(offset, pageSize, sc.getKeyword(), memberId);
+            case "T" -> findByTitle(offset, pageSize, sc.getKeyword(), memberId);
+            default -> findAll(offset, pageSize, memberId);
         };
     }
 
@@ -122,10 +308,49 @@ public class JpaPostRepository {
 
     public List<PostDetails> findAll(Integer offset, Integer limit) {
         String sql = "select new com.example.firstproject.domain.dto.post.PostDetails(p.id, p.title, p.content, m.nickname, p.createdAt, p.updatedAt, p.viewCnt) " +
-                "from PostEntity p join p.member m";
+                "from PostEntity p join p.member m " +
+                "order by p.createdAt, p.id";
         return em.createQuery(sql, PostDetails.class).setFirstResult(offset).setMaxResults(limit).getResultList();
     }
 
+    /**
+     * 커서 이후의 게시글 목록 반환 (다음 페이지)
+     * (created_at, id) 인덱스에서 커서 위치를 바로 찾기 때문에 페이지가 뒤로 가도 앞의 게시글을 읽고 버리지 않는다.
+     */
+    public List<PostDetails> findAllAfter(PostCursor cursor, Integer limit) {
+        String sql = "select new com.example.firstproject.domain.dto.post.PostDetails(p.id, p.title, p.content, m.nickname, p.createdAt, p.updatedAt, p.viewCnt) " +
+                "from PostEntity p join p.member m " +
+                "where p.createdAt > :createdAt or (p.createdAt = :createdAt and p.id > :id) " +
+                "order by p.createdAt, p.id";
+
+        return em.createQuery(sql, PostDetails.class)
+                .setParameter("createdAt", cursor.getCreatedAt())
+                .setParameter("id", cursor.getId())
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 커서 이전의 게시글 목록 반환 (이전 페이지)
+     * 커서에서 가까운 게시글부터 역순으로 조회한 다음 화면에 보여줄 순서로 다시 뒤집는다.
+     */
+    public List<PostDetails> findAllBefore(PostCursor cursor, Integer limit) {
+        String sql = "select new com.example.firstproject.domain.dto.post.PostDetails(p.id, p.title, p.content, m.nickname, p.createdAt, p.updatedAt, p.viewCnt) " +
+                "from PostEntity p join p.member m " +
+                "where p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id) " +
+                "order by p.createdAt desc, p.id desc";
+
+        List<PostDetails> posts = em.createQuery(sql, PostDetails.class)
+                .setParameter("createdAt", cursor.getCreatedAt())
+                .setParameter("id", cursor.getId())
+                .setMaxResults(limit)
+                .getResultList();
+
+        Collections.reverse(posts);
+
+        return posts;
+    }
+
 
     public List<PostDetails> findByTitle(Integer offset, Integer limit, String keyword) {
         String sql = "select new com.example.firstproject.domain.dto.post.PostDetails(p.id, p.title, p.content, m.nickname, p.createdAt, p.updatedAt, p.viewCnt) " +
@@ -150,14 +375,88 @@ public class JpaPostRepository {
         return em.createQuery(sql, PostDetails.class).setParameter("keyword", "%" + keyword + "%").setFirstResult(offset).setMaxResults(limit).getResultList();
     }
 
+    /**
+     * 검색 조건에 해당하는 나의 게시글 목록과 전체 검색 결과 수를 한 번의 쿼리로 반환
+     */
+    public PagedResult<PostDetails> searchPagedMyPosts(Map<String, Integer> map, SearchCondition sc, Long memberId) {
+        Integer offset = map.get("offset");
+        Integer pageSize = map.get("pageSize");
+
+        String condition = switch (sc.getOption()) {
+            case "C" -> "p.content like :keyword";
+            case "T" -> "p.title like :keyword";
+            default -> null;
+        };
+
+        if (condition == null) {
+            return new PagedResult<>(findAll(offset, pageSize, memberId), getCountAll(memberId));
+        }
+
+        Map<String, Object> params = Map.of("keyword", "%" + sc.getKeyword() + "%", "memberId", memberId);
+
+        return findPageWithTotal(condition + " and m.id = :memberId", params, offset, pageSize,
+                () -> getMyCountBySearchCondition(sc, memberId));
+    }
+
+    /**
+     * 검색 조건에 해당하는 게시글 목록과 전체 검색 결과 수를 한 번의 쿼리로 반환
+     */
+    public PagedResult<PostDetails> searchPagedPosts(Map<String, Integer> map, SearchCondition sc) {
+        Integer offset = map.get("offset");
+        Integer pageSize = map.get("pageSize");
+
+        String condition = switch (sc.getOption()) {
+            case "C" -> "p.content like :keyword";
+            case "T" -> "p.title like :keyword";
+            case "W" -> "m.nickname like :keyword";
+            default -> null;
+        };
+
+        if (condition == null) {
+            return new PagedResult<>(findAll(offset, pageSize), getCountAll());
+        }
+
+        return findPageWithTotal(condition, Map.of("keyword", "%" + sc.getKeyword() + "%"), offset, pageSize,
+                () -> getCountBySearchCondition(sc));
+    }
+
+    /**
+     * count(*) over()로 페이지를 자르기 전의 전체 행 수를 각 행에 함께 조회해서 목록 쿼리와 count 쿼리를 따로 실행하지 않는다.
+     * 요청한 페이지에 게시글이 없으면 전체 결과 수를 알 수 없으므로 그때만 count 쿼리를 실행한다.
+     */
+    private PagedResult<PostDetails> findPageWithTotal(String condition, Map<String, Object> params, Integer offset, Integer limit,
+                                                       IntSupplier countQuery) {
+        String sql = "select new com.example.firstproject.domain.dto.post.PostDetails(p.id, p.title, p.content, m.nickname, p.createdAt, p.updatedAt, p.viewCnt), count(*) over() " +
+                "from PostEntity p join p.member m " +
+                "where " + condition + " " +
+                "order by p.createdAt, p.id";
+
+        TypedQuery<Object[]> query = em.createQuery(sql, Object[].class);
+        params.forEach(query::setParameter);
+
+        List<Object[]> rows = query.setFirstResult(offset).setMaxResults(limit).getResultList();
+
+        if (rows.isEmpty()) {
+            return new PagedResult<>(new ArrayList<>(), offset == 0 ? 0 : countQuery.getAsInt());
+        }
+
+        List<PostDetails> posts = new ArrayList<>(rows.size());
+
+        for (Object[] row : rows) {
+            posts.add((PostDetails) row[0]);
+        }
+
+        return new PagedResult<>(posts, ((Number) rows.get(0)[1]).intValue());
+    }
+
     /**
      * 추가
      */
-    public int getMyCountBySearchCondition(SearchCondition sc, MemberEntity member) {
+    public int getMyCountBySearchCondition(SearchCondition sc, Long memberId) {
         return switch (sc.getOption()) {
-            case "C" -> getCountByContent(sc.getKeyword(), member.getId());
-            case "T" -> getCountByTitle(sc.getKeyword(), member.getId());
-            default -> getCountAll(member.getId());
+            case "C" -> getCountByContent(sc.getKeyword(), memberId);
+            case "T" -> getCountByTitle(sc.getKeyword(), memberId);
+            default -> getCountAll(memberId);
         };
     }
 
@@ -8,6 +8,7 @@ import com.example.firstproject.domain.jdbc.Member;
 import com.example.firstproject.repository.CommentRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +17,7 @@ import java.util.List;
 
 @Slf4j
 @Service
+@Lazy
 @RequiredArgsConstructor
 @Transactional
 public class CommentService {
@@ -3,6 +3,7 @@ package com.example.firstproject.service.jdbc;
 import com.example.firstproject.common.constant.SessionConst;
 import com.example.firstproject.domain.Role;
 import com.example.firstproject.domain.dto.member.LoginMember;
+import com.example.firstproject.domain.dto.member.SessionMember;
 import com.example.firstproject.domain.jdbc.Member;
 import com.example.firstproject.repository.MemberRepository;
 import jakarta.servlet.http.Cookie;
@@ -11,6 +12,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.BindingResult;
 
@@ -18,6 +20,7 @@ import java.util.Optional;
 
 @Slf4j
 @Service
+@Lazy
 @RequiredArgsConstructor
 public class LoginService {
     private final MemberRepository memberRepository;
@@ -89,7 +92,7 @@ public class LoginService {
         HttpSession session = request.getSession();
 
         // 세션에 정보 저장하기
-        session.setAttribute(SessionConst.LOGIN_MEMBER, optionalFindMember.orElseThrow(RuntimeException::new));
+        session.setAttribute(SessionConst.LOGIN_MEMBER, SessionMember.from(optionalFindMember.orElseThrow(RuntimeException::new)));
         session.setAttribute("status", true); // 로그인 여부 확인하기 위한 작업
 
         log.info("create session={}", session.getAttribute(SessionConst.LOGIN_MEMBER));
@@ -6,6 +6,7 @@ import com.example.firstproject.domain.dto.PageHandler;
 import com.example.firstproject.domain.dto.SearchCondition;
 import com.example.firstproject.domain.dto.member.MemberDetails;
 import com.example.firstproject.domain.dto.member.MemberDto;
+import com.example.firstproject.domain.dto.member.SessionMember;
 import com.example.firstproject.domain.dto.member.UpdateMemberDto;
 import com.example.firstproject.domain.jdbc.Member;
 import com.example.firstproject.domain.jdbc.Post;
@@ -19,6 +20,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
@@ -27,6 +29,7 @@ import java.util.*;
 
 @Slf4j
 @Service
+@Lazy
 @RequiredArgsConstructor
 @Transactional
 public class MemberService {
@@ -119,7 +122,7 @@ public class MemberService {
         HttpSession session = request.getSession(false);
 
         if(session != null) {
-            session.setAttribute(SessionConst.LOGIN_MEMBER, optionalFindMember.orElseThrow(RuntimeException::new));
+            session.setAttribute(SessionConst.LOGIN_MEMBER, SessionMember.from(optionalFindMember.orElseThrow(RuntimeException::new)));
         }
 
         // 쿠키 처리
@@ -11,6 +11,7 @@ import com.example.firstproject.repository.FileRepository;
 import com.example.firstproject.repository.PostRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.multipart.MultipartFile;
@@ -21,6 +22,7 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Service
+@Lazy
 @RequiredArgsConstructor
 public class PostService {
     private final PostRepository postRepository;
@@ -86,6 +88,13 @@ public class PostService {
         return new PageHandler(postRepository.getCountBySearchCondition(sc), page, pageSize);
     }
 
+    /**
+     * 커서 방식 페이징 처리를 위해서 PageHandler 생성 및 반환하는 메서드
+     */
+    public PageHandler getPageHandler(List<PostDetails> posts, Integer page, Integer pageSize, String direction) {
+        return PageHandler.ofCursor(posts, page, pageSize, direction);
+    }
+
     /**
      * 게시판 페이징 처리하는데 필요한 페이지 정보를 반환하는 메서드
      * - 페이지 정보란 예를 들어서 MySQL의 OFFSET, LIMIT에 대한 정보를 의미
@@ -113,6 +122,18 @@ public class PostService {
         return postRepository.getPagedPostsBySearchCondition(pageInfo, sc);
     }
 
+    /**
+     * 커서 위치를 기준으로 게시글 목록을 반환하는 메서드
+     * 다음 방향은 다음 페이지 존재 여부를 확인하기 위해서 pageSize + 1개를 조회한다.
+     */
+    public List<PostDetails> getPagedPostsByCursor(PostCursor postCursor, String direction, Integer pageSize) {
+        if (PostCursor.PREV.equals(direction)) {
+            return postRepository.findAllBefore(postCursor, pageSize);
+        }
+
+        return postRepository.findAllAfter(postCursor, pageSize + 1);
+    }
+
     /**
      * 게시글을 저장하는 메서드
      */
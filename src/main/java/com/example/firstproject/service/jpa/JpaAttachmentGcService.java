@@ -0,0 +1,121 @@
+package com.example.firstproject.service.jpa;
+
+import com.example.firstproject.common.file.BlobStore;
+import com.example.firstproject.domain.jpa.AttachmentGcRunEntity;
+import com.example.firstproject.domain.jpa.BlobEntity;
+import com.example.firstproject.repository.file.JdbcFileReferenceRepository;
+import com.example.firstproject.repository.file.JpaAttachmentGcRunRepository;
+import com.example.firstproject.repository.file.JpaBlobRepository;
+import com.example.firstproject.repository.file.JpaFileRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 첨부 파일 정리 작업의 진행 상황을 기록하고, 저장소의 파일과 첨부 파일 정보를 맞춰보는 서비스
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class JpaAttachmentGcService {
+    private final JpaAttachmentGcRunRepository gcRunRepository;
+    private final JpaFileRepository fileRepository;
+    private final JpaBlobRepository blobRepository;
+    private final JdbcFileReferenceRepository jdbcFileRepository;
+    private final BlobStore blobStore;
+
+    /**
+     * 끝나지 않은 작업이 있으면 이어서 실행하고, 없으면 새로운 작업을 등록하고 작업 식별자를 반환하는 메서드
+     */
+    public AttachmentGcRunEntity startOrResume() {
+        AttachmentGcRunEntity run = gcRunRepository.findLatestUnfinished().orElse(null);
+
+        if (run != null) {
+            run.resume();
+            return run;
+        }
+
+        run = AttachmentGcRunEntity.builder().createdAt(LocalDateTime.now()).build();
+        gcRunRepository.save(run);
+
+        return run;
+    }
+
+    /**
+     * 저장소의 blob을 참조하는 첨부 파일 수를 다시 세어서 참조 수를 맞추고, 참조하는 첨부 파일이 없는 blob의 해시를 반환하는 메서드
+     * 참조하는 첨부 파일이 없는 blob은 blob 정보도 삭제하므로 반환된 blob은 저장소에서 삭제해도 된다.
+     * JDBC 방식의 첨부 파일은 참조 수에 포함되지 않으므로 JPA 첨부 파일이 참조하지 않는 blob은 FILE 테이블의 저장 경로도 확인한다.
+     */
+    public List<String> reconcile(Map<String, Long> sizesByHash) {
+        Map<String, Long> refCnts = fileRepository.countByHashes(sizesByHash.keySet());
+        Set<String> jdbcPaths = jdbcFileRepository.findReferencedPaths(sizesByHash.keySet().stream()
+                .filter(hash -> !refCnts.containsKey(hash))
+                .map(hash -> blobStore.resolve(hash).toString())
+                .collect(Collectors.toList()));
+        List<String> orphans = new ArrayList<>();
+
+        sizesByHash.forEach((hash, size) -> {
+            long refCnt = refCnts.getOrDefault(hash, 0L);
+
+            if (refCnt == 0) {
+                if (!jdbcPaths.contains(blobStore.resolve(hash).toString())) {
+                    orphans.add(hash);
+                }
+            } else if (blobRepository.updateRefCnt(hash, refCnt) == 0) {
+                // 첨부 파일은 있는데 blob 정보가 없으면 다시 저장
+                blobRepository.save(BlobEntity.builder()
+                        .hash(hash)
+                        .size(size)
+                        .refCnt(refCnt)
+                        .createdAt(LocalDateTime.now())
+                        .build());
+            }
+        });
+
+        if (!orphans.isEmpty()) {
+            blobRepository.deleteByHashes(orphans);
+        }
+
+        return orphans;
+    }
+
+    /**
+     * blob 저장소 도입 전에 저장된 파일을 참조하는 첨부 파일(JPA, JDBC)이 있는지 확인하는 메서드
+     */
+    @Transactional(readOnly = true)
+    public boolean isReferenced(String filePath) {
+        return fileRepository.existsByFilePath(filePath) || jdbcFileRepository.existsByFilePath(filePath);
+    }
+
+    public void advance(Long runId, String cursor, long scannedCnt, long deletedCnt, long reclaimedBytes) {
+        getRun(runId).advance(cursor, scannedCnt, deletedCnt, reclaimedBytes);
+    }
+
+    public void complete(Long runId) {
+        getRun(runId).complete();
+    }
+
+    public void fail(Long runId, String message) {
+        getRun(runId).fail(message);
+    }
+
+    /**
+     * 최근에 실행된 작업 목록을 반환하는 메서드
+     */
+    @Transactional(readOnly = true)
+    public List<AttachmentGcRunEntity> getRecentRuns(Integer limit) {
+        return gcRunRepository.findRecent(limit);
+    }
+
+    private AttachmentGcRunEntity getRun(Long runId) {
+        return gcRunRepository.findById(runId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 첨부 파일 정리 작업입니다. runId=" + runId));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.firstproject.service.jpa;
+
+import com.example.firstproject.common.file.StoredBlob;
+import com.example.firstproject.repository.file.JpaBlobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 첨부 파일(FileEntity)이 참조하는 blob의 참조 수를 관리하는 서비스
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class JpaBlobService {
+    private final JpaBlobRepository blobRepository;
+
+    /**
+     * 첨부 파일이 blob을 참조할 때 참조 수를 증가시키는 메서드 (처음 저장된 blob이면 참조 수 1로 저장)
+     */
+    public void acquire(StoredBlob blob) {
+        blobRepository.acquire(blob.getHash(), blob.getSize(), LocalDateTime.now());
+    }
+
+    /**
+     * 첨부 파일이 삭제되었을 때 참조 수를 감소시키는 메서드
+     * 참조하는 첨부 파일이 없어진 blob 정보만 삭제하고 저장소의 파일은 정리 작업(AttachmentCollector)이 삭제한다.
+     * 여기서 파일을 바로 삭제하면 그 사이에 같은 내용의 파일을 업로드한 요청이 참조할 파일이 사라질 수 있지만,
+     * 정리 작업은 최근에 수정된(업로드 중에 다시 참조된) 파일을 삭제하지 않는다.
+     */
+    public void release(List<String> hashes) {
+        Map<String, Long> counts = hashes.stream()
+                .filter(Objects::nonNull) // 해시가 없는 첨부 파일은 blob 저장소를 사용하기 전에 업로드된 파일
+                .collect(Collectors.groupingBy(hash -> hash, Collectors.counting()));
+
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        counts.forEach((hash, count) -> blobRepository.addRefCnt(hash, -count));
+        blobRepository.deleteUnreferenced(counts.keySet());
+    }
+}
@@ -1,81 +1,145 @@
 package com.example.firstproject.service.jpa;
 
+import com.example.firstproject.domain.dto.comment.CommentCursor;
+import com.example.firstproject.domain.dto.comment.CommentNode;
+import com.example.firstproject.domain.dto.comment.CommentSlice;
 import com.example.firstproject.domain.dto.comment.ResponseCommentDto;
 import com.example.firstproject.domain.dto.comment.RequestCommentDto;
 import com.example.firstproject.domain.dto.comment.UpdateCommentDto;
+import com.example.firstproject.domain.dto.member.SessionMember;
 import com.example.firstproject.domain.jpa.CommentEntity;
-import com.example.firstproject.domain.jpa.MemberEntity;
 import com.example.firstproject.repository.comment.JpaCommentRepository;
+import com.example.firstproject.repository.member.JpaMemberRepository;
 import com.example.firstproject.repository.post.JpaPostRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class JpaCommentService {
+    public static final int COMMENT_PAGE_SIZE = 50; // 한 번에 보여줄 최상위 댓글 또는 답글 수
+    public static final int REPLY_PREVIEW_LIMIT = 10; // 답글 수가 이 값 이하인 댓글은 답글을 댓글과 함께 보여준다.
+
     private final JpaCommentRepository commentRepository;
     private final JpaPostRepository postRepository;
+    private final JpaMemberRepository memberRepository;
 
     /**
      * 게시글에 댓글을 작성하는 메서드
      */
-    public void saveComment(MemberEntity loginMember, Long postId, RequestCommentDto requestCommentDto) {
+    public void saveComment(SessionMember loginMember, Long postId, RequestCommentDto requestCommentDto) {
         CommentEntity comment = CommentEntity.builder()
                 .post(postRepository.findById(postId))
-                .member(loginMember)
+                .member(memberRepository.getReference(loginMember.getId()))
                 .content(requestCommentDto.getContent())
                 .createdAt(LocalDateTime.now())
                 .build();
 
         commentRepository.save(comment);
+        postRepository.increaseCommentVersion(postId);
     }
 
     /**
      * 게시글에 작성된 댓글을 수정하는 메서드
      */
     public void modifyComment(Long commentId, UpdateCommentDto updateCommentDto) {
+        commentRepository.findPostIdById(commentId).ifPresent(postRepository::increaseCommentVersion);
         commentRepository.updateById(commentId, updateCommentDto);
     }
 
     /**
      * 게시글에 작성된 댓글에 답글 작성하는 메서드
      */
-    public void saveReply(MemberEntity loginMember, Long postId, Long parentCommentId, String replyContent) {
+    public void saveReply(SessionMember loginMember, Long postId, Long parentCommentId, String replyContent) {
         CommentEntity comment = CommentEntity.builder()
                 .post(postRepository.findById(postId))
-                .member(loginMember)
+                .member(memberRepository.getReference(loginMember.getId()))
                 .content(replyContent)
                 .parentCommentId(parentCommentId)
                 .createdAt(LocalDateTime.now())
                 .build();
 
         commentRepository.save(comment);
+        commentRepository.addReplyCnt(parentCommentId, 1);
+        postRepository.increaseCommentVersion(postId);
     }
 
     /**
      * 게시글에 작성된 댓글 또는 답글을 삭제하는 메서드
      */
     public void deleteCommentByCommentId(Long commentId) {
+        commentRepository.findPostIdById(commentId).ifPresent(postRepository::increaseCommentVersion);
         commentRepository.deleteById(commentId);
     }
 
     /**
-     * 게시글에 작성된 댓글을 조회하는 메서드
+     * 게시글의 최상위 댓글을 커서 다음부터 한 페이지 조회하고 각 댓글의 답글을 묶어서 반환하는 메서드 (커서가 없으면 처음부터)
+     * 답글 수가 적은 댓글의 답글만 한 번의 쿼리로 가져와서 부모 댓글별로 한 번에 묶어두고,
+     * 답글이 많은 댓글은 화면에서 답글 보기를 눌렀을 때 getReplyPage로 나누어 조회한다.
+     */
+    public CommentSlice<CommentNode> getCommentTree(Long postId, String cursor) {
+        List<ResponseCommentDto> comments = commentRepository.findTopLevelByPostId(postId, decode(cursor), COMMENT_PAGE_SIZE + 1);
+        String nextCursor = trim(comments, COMMENT_PAGE_SIZE);
+
+        List<Long> previewIds = comments.stream()
+                .filter(comment -> comment.getReplyCnt() > 0 && comment.getReplyCnt() <= REPLY_PREVIEW_LIMIT)
+                .map(ResponseCommentDto::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, List<ResponseCommentDto>> repliesByParent = new HashMap<>();
+
+        for (ResponseCommentDto reply : commentRepository.findRepliesByParentIds(previewIds)) {
+            repliesByParent.computeIfAbsent(reply.getParentCommentId(), id -> new ArrayList<>()).add(reply);
+        }
+
+        List<CommentNode> tree = new ArrayList<>();
+
+        for (ResponseCommentDto comment : comments) {
+            tree.add(new CommentNode(comment, repliesByParent.getOrDefault(comment.getId(), List.of())));
+        }
+
+        return new CommentSlice<>(tree, nextCursor);
+    }
+
+    /**
+     * 댓글에 달린 답글을 커서 다음부터 한 페이지 조회하는 메서드 (커서가 없으면 처음부터)
+     * 다른 게시글의 댓글 식별자로 답글을 조회할 수 없도록 댓글이 게시글에 작성된 댓글인지 먼저 확인한다.
      */
-    public List<ResponseCommentDto> getCommentsByPostId(Long postId) {
-        return commentRepository.findByPostId(postId);
+    public CommentSlice<ResponseCommentDto> getReplyPage(Long postId, Long parentCommentId, String cursor) {
+        if (!commentRepository.findPostIdById(parentCommentId).map(postId::equals).orElse(false)) {
+            throw new IllegalArgumentException("게시글에 존재하지 않는 댓글입니다. postId=" + postId + ", commentId=" + parentCommentId);
+        }
+
+        List<ResponseCommentDto> replies = commentRepository.findRepliesByParentId(parentCommentId, decode(cursor), COMMENT_PAGE_SIZE + 1);
+        String nextCursor = trim(replies, COMMENT_PAGE_SIZE);
+
+        return new CommentSlice<>(replies, nextCursor);
+    }
+
+    private CommentCursor decode(String cursor) {
+        return StringUtils.hasText(cursor) ? CommentCursor.decode(cursor) : null;
     }
 
     /**
-     * 게시글에 작성된 답글을 조회하는 메서드
+     * 다음 목록 존재 여부를 확인하기 위해 pageSize + 1개를 조회한 목록에서 초과한 댓글을 제거하고 다음 커서 반환 (다음 목록이 없으면 null)
      */
-    public List<ResponseCommentDto> getReplies(Long postId) {
-        return commentRepository.getReplies(postId);
+    private String trim(List<ResponseCommentDto> comments, int pageSize) {
+        if (comments.size() <= pageSize) {
+            return null;
+        }
+
+        comments.subList(pageSize, comments.size()).clear();
+        return CommentCursor.from(comments.get(pageSize - 1)).encode();
     }
 
 }
@@ -0,0 +1,150 @@
+package com.example.firstproject.service.jpa;
+
+import com.example.firstproject.common.file.AttachmentCleaner;
+import com.example.firstproject.common.search.PostSearchIndex;
+import com.example.firstproject.domain.jpa.PostEntity;
+import com.example.firstproject.repository.comment.JpaCommentRepository;
+import com.example.firstproject.repository.file.JpaFileRepository;
+import com.example.firstproject.repository.member.JpaMemberRepository;
+import com.example.firstproject.repository.post.JpaPostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * 회원과 게시글에 딸린 데이터를 나누어 삭제하는 서비스
+ * 게시글을 하나씩 em.remove() 하면 게시글마다 댓글과 파일이 CASCADE로 한 행씩 삭제되어 데이터가 많으면 삭제가 오래 걸리고 그동안 테이블에 락이 걸린다.
+ * 그래서 in 절을 사용한 bulk delete 문으로 정해진 개수씩 삭제하고, 각 메서드를 하나의 짧은 트랜잭션으로 실행해서 묶음마다 커밋한다.
+ * (JPQL bulk delete는 CASCADE가 적용되지 않으므로 자식 테이블부터 직접 삭제)
+ * 이미 삭제된 데이터는 다시 조회되지 않으므로 중간에 중단되어도 처음부터 다시 호출하면 남은 데이터만 삭제된다.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class JpaContentDeleteService {
+    private final JpaPostRepository postRepository;
+    private final JpaCommentRepository commentRepository;
+    private final JpaFileRepository fileRepository;
+    private final JpaMemberRepository memberRepository;
+    private final JpaPostCountService postCountService;
+    private final PostSearchIndex searchIndex;
+    private final AttachmentCleaner attachmentCleaner;
+    private final JpaBlobService blobService;
+
+    /**
+     * 회원이 작성한 게시글 수를 반환하는 메서드
+     */
+    public int getMemberPostCount(Long memberId) {
+        return postRepository.getCountAll(memberId);
+    }
+
+    /**
+     * 게시글에 작성된 댓글 수를 반환하는 메서드
+     */
+    public int getPostCommentCount(Long postId) {
+        return commentRepository.getCountByPostId(postId);
+    }
+
+    /**
+     * 회원이 작성한 게시글을 chunkSize개 삭제하고 삭제한 게시글 수를 반환하는 메서드 (더 이상 삭제할 게시글이 없으면 0)
+     * 게시글에 작성된 댓글과 답글, 첨부 파일 정보를 먼저 삭제하고 디스크의 첨부 파일은 커밋된 다음 별도 스레드에서 삭제한다.
+     */
+    public int deleteMemberPosts(Long memberId, int chunkSize) {
+        List<Long> postIds = postRepository.findIdsByMemberId(memberId, chunkSize);
+
+        if (postIds.isEmpty()) {
+            return 0;
+        }
+
+        List<String> fileHashes = fileRepository.findHashesByPostIds(postIds);
+        List<String> filePaths = fileRepository.findLegacyPathsByPostIds(postIds);
+
+        commentRepository.deleteByPostIds(postIds); // 게시글에 작성된 댓글과 답글 삭제
+        fileRepository.deleteByPostIds(postIds); // 게시글에 첨부된 파일 정보 삭제
+        postRepository.deleteByIds(postIds);
+        postCountService.decrease(memberId, postIds.size()); // 삭제한 게시글 수만큼 전체 게시글 수와 회원의 게시글 수 감소
+
+        postIds.forEach(searchIndex::remove);
+        blobService.release(fileHashes); // 참조가 없어진 blob의 파일은 정리 작업(AttachmentCollector)이 삭제
+        deleteFilesAfterCommit(filePaths);
+
+        return postIds.size();
+    }
+
+    /**
+     * 회원의 게시글을 모두 삭제한 다음 남은 데이터와 회원을 삭제하는 메서드
+     */
+    public void finishMemberDelete(Long memberId) {
+        postRepository.increaseCommentVersionByMemberId(memberId); // 회원의 댓글이 삭제되는 게시글의 페이지 ETag 갱신
+        commentRepository.deleteRepliesOfMember(memberId); // 다른 게시글에 작성한 댓글에 달린 답글 삭제
+        commentRepository.deleteByMemberId(memberId); // 다른 게시글에 작성한 댓글과 답글 삭제
+        postCountService.removeMember(memberId); // 회원의 게시글 수 집계 행 삭제
+
+        if (memberRepository.findById(memberId).isPresent()) {
+            memberRepository.deleteById(memberId); // 회원 삭제
+        }
+
+        searchIndex.removeMember(memberId); // 회원이 작성한 게시글을 검색 색인에서 제거
+    }
+
+    /**
+     * 게시글에 작성된 댓글과 답글을 chunkSize개 삭제하고 삭제한 댓글 수를 반환하는 메서드 (더 이상 삭제할 댓글이 없으면 0)
+     */
+    public int deletePostComments(Long postId, int chunkSize) {
+        List<Long> commentIds = commentRepository.findIdsByPostId(postId, chunkSize);
+
+        if (commentIds.isEmpty()) {
+            return 0;
+        }
+
+        commentRepository.deleteByIds(commentIds);
+
+        return commentIds.size();
+    }
+
+    /**
+     * 게시글의 댓글을 모두 삭제한 다음 첨부 파일과 게시글을 삭제하는 메서드
+     */
+    public void finishPostDelete(Long postId) {
+        PostEntity post = postRepository.findById(postId);
+
+        // 이미 삭제된 게시글 (삭제 후 작업 완료를 기록하기 전에 중단된 경우)
+        if (post == null) {
+            return;
+        }
+
+        Long memberId = post.getMember().getId();
+        List<Long> postIds = List.of(postId);
+        List<String> fileHashes = fileRepository.findHashesByPostIds(postIds);
+        List<String> filePaths = fileRepository.findLegacyPathsByPostIds(postIds);
+
+        commentRepository.deleteByPostIds(postIds); // 마지막 묶음 이후에 작성된 댓글 삭제
+        fileRepository.deleteByPostIds(postIds);
+        postRepository.deleteByIds(postIds);
+        postCountService.decrease(memberId);
+
+        searchIndex.remove(postId);
+        blobService.release(fileHashes);
+        deleteFilesAfterCommit(filePaths);
+    }
+
+    /**
+     * 트랜잭션이 롤백되면 파일이 남아 있어야 하므로 커밋된 다음 디스크의 파일 삭제 (blob 저장소 도입 전에 업로드된 파일)
+     */
+    private void deleteFilesAfterCommit(List<String> filePaths) {
+        if (filePaths.isEmpty()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                attachmentCleaner.deleteFiles(filePaths);
+            }
+        });
+    }
+}
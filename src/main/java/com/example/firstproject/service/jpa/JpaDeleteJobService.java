@@ -0,0 +1,75 @@
+package com.example.firstproject.service.jpa;
+
+import com.example.firstproject.domain.DeleteTarget;
+import com.example.firstproject.domain.jpa.DeleteJobEntity;
+import com.example.firstproject.repository.job.JpaDeleteJobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 관리자의 삭제 요청을 작업으로 등록하고 진행 상황을 기록하는 서비스
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class JpaDeleteJobService {
+    private final JpaDeleteJobRepository deleteJobRepository;
+
+    /**
+     * 삭제 작업을 등록하고 작업 식별자를 반환하는 메서드
+     * 같은 대상에 대해 끝나지 않은 작업이 있으면 새로 등록하지 않고 기존 작업의 식별자 반환
+     */
+    public Long request(DeleteTarget target, Long targetId) {
+        return deleteJobRepository.findUnfinished(target, targetId)
+                .map(DeleteJobEntity::getId)
+                .orElseGet(() -> {
+                    DeleteJobEntity job = DeleteJobEntity.builder()
+                            .target(target)
+                            .targetId(targetId)
+                            .createdAt(LocalDateTime.now())
+                            .build();
+
+                    deleteJobRepository.save(job);
+                    return job.getId();
+                });
+    }
+
+    public DeleteJobEntity getJob(Long jobId) {
+        return deleteJobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 삭제 작업입니다. jobId=" + jobId));
+    }
+
+    /**
+     * 끝나지 않은 작업의 식별자 목록을 반환하는 메서드 (재시작시 이어서 처리하기 위해 사용)
+     */
+    public List<Long> getUnfinishedJobIds() {
+        return deleteJobRepository.findUnfinished().stream().map(DeleteJobEntity::getId).toList();
+    }
+
+    /**
+     * 최근에 요청된 작업 목록을 반환하는 메서드
+     */
+    public List<DeleteJobEntity> getRecentJobs(Integer limit) {
+        return deleteJobRepository.findRecent(limit);
+    }
+
+    public void start(Long jobId, long remainingCnt) {
+        getJob(jobId).start(remainingCnt);
+    }
+
+    public void addProcessedCnt(Long jobId, long processedCnt) {
+        getJob(jobId).addProcessedCnt(processedCnt);
+    }
+
+    public void complete(Long jobId) {
+        getJob(jobId).complete();
+    }
+
+    public void fail(Long jobId, String message) {
+        getJob(jobId).fail(message);
+    }
+}
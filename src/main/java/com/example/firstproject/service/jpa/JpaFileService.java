@@ -1,32 +1,28 @@
 package com.example.firstproject.service.jpa;
 
+import com.example.firstproject.common.file.BlobUploader;
+import com.example.firstproject.common.file.ImageVariantGenerator;
+import com.example.firstproject.common.file.StoredBlob;
+import com.example.firstproject.common.file.StoredFile;
 import com.example.firstproject.domain.dto.post.PostDto;
+import com.example.firstproject.domain.dto.member.SessionMember;
 import com.example.firstproject.domain.jpa.FileEntity;
-import com.example.firstproject.domain.jpa.MemberEntity;
 import com.example.firstproject.domain.jpa.PostEntity;
 import com.example.firstproject.repository.file.JpaFileRepository;
+import com.example.firstproject.repository.member.JpaMemberRepository;
 import com.example.firstproject.repository.post.JpaPostRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @Transactional
@@ -34,11 +30,15 @@ import java.util.List;
 public class JpaFileService {
     private final JpaFileRepository fileRepository;
     private final JpaPostRepository postRepository;
+    private final JpaMemberRepository memberRepository;
+    private final JpaBlobService blobService;
+    private final BlobUploader blobUploader;
+    private final ImageVariantGenerator imageVariantGenerator;
 
     /**
      * 게시글 작성 화면에서 파일을 업로드하는 요청을 처리하는 메서드
      */
-    public PostEntity uploadFile(PostDto postDto, MemberEntity loginMember) {
+    public PostEntity uploadFile(PostDto postDto, SessionMember loginMember) {
         List<FileEntity> fileEntityList = saveFiles(postDto.getFiles());
 
         PostEntity post = convertToPostEntity(postDto, loginMember);
@@ -67,7 +67,18 @@ public class JpaFileService {
      */
     public void deleteFile(Long postId, String fileName) {
         PostEntity post = postRepository.findById(postId);
-        post.getFiles().removeIf(fileEntity -> fileEntity.getFileName().equals(fileName));
+        List<String> hashes = new ArrayList<>();
+
+        post.getFiles().removeIf(fileEntity -> {
+            if (!fileEntity.getFileName().equals(fileName)) {
+                return false;
+            }
+
+            hashes.add(fileEntity.getHash());
+            return true;
+        });
+
+        blobService.release(hashes);
     }
 
     /**
@@ -94,29 +105,48 @@ public class JpaFileService {
             return fileEntityList;
         }
 
-        for (MultipartFile file : files) {
-            try {
-                String filePath = Paths.get("/Users/seomyeong-gwan/Desktop/first-project/" , file.getOriginalFilename()).toString();
-                file.transferTo(new File(filePath));
-
-                fileEntityList.add(FileEntity.builder()
-                        .filePath(filePath)
-                        .fileName(file.getOriginalFilename())
-                        .uploadedAt(LocalDateTime.now())
-                        .build());
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
+        List<MultipartFile> uploads = files.stream().filter(file -> file != null && !file.isEmpty()).toList();
+        List<StoredBlob> blobs;
+
+        try {
+            // 여러 파일을 동시에 저장하고, 같은 내용의 파일이 이미 저장되어 있으면 해시만 계산하고 저장된 파일을 참조한다.
+            blobs = blobUploader.storeAll(uploads);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        for (int i = 0; i < uploads.size(); i++) {
+            StoredBlob blob = blobs.get(i);
+            blobService.acquire(blob);
+            requestVariants(uploads.get(i), blob);
+
+            fileEntityList.add(FileEntity.builder()
+                    .filePath(blob.getPath())
+                    .hash(blob.getHash())
+                    .fileName(uploads.get(i).getOriginalFilename())
+                    .uploadedAt(LocalDateTime.now())
+                    .build());
         }
 
         return fileEntityList;
     }
 
-    private PostEntity convertToPostEntity(PostDto postDto, MemberEntity loginMember) {
+    /**
+     * 이미지 파일이면 별도 스레드에서 축소본을 만들도록 요청
+     */
+    private void requestVariants(MultipartFile file, StoredBlob blob) {
+        String contentType = file.getContentType();
+
+        if (contentType != null && contentType.startsWith("image/")) {
+            imageVariantGenerator.submit(blob.getHash());
+        }
+    }
+
+    private PostEntity convertToPostEntity(PostDto postDto, SessionMember loginMember) {
         return PostEntity.builder()
                 .title(postDto.getTitle())
                 .content(postDto.getContent())
-                .member(loginMember)
+                .member(memberRepository.getReference(loginMember.getId()))
                 .createdAt(LocalDateTime.now())
                 .build();
     }
@@ -125,34 +155,13 @@ public class JpaFileService {
         return postRepository.findById(postId);
     }
 
-    public ResponseEntity<Resource> downloadFile(String filename) throws IOException {
-        // 서버에 존재하는 파일의 위치, 즉 서버가 클라이언트에게 줄 파일이 서버에 어디에 있는지 지정하는 경로
-        Path path = Paths.get("/Users/seomyeong-gwan/Desktop/first-project/", filename);
-        // 스프링에서는 파일, URL, 클래스패스 리소스 등을 일관되게 다룰 수 있도록 추상 인터페이스 Resource 제공
-        Resource resource = new FileSystemResource(path);
-
-        // 파일이 실제로 존재하지 않으면 404 응답
-        if (!resource.exists()) {
-            return ResponseEntity.notFound().build();
-        }
-
-        // 파일의 MIME 타입을 자동 감지(probeContentType)
-        // Files.probeContentType(path)는 OS 및 파일 확장자를 기반으로 MIME 타입을 추측
-        String contentType = Files.probeContentType(path);
-        // 그런데 확장자가 이상하거나 OS가 MIME 타입 감지를 지원하지 않는 경우 null 반환(실퍠)하므로 감지 실패시 기본 타입으로 설정
-        contentType = contentType != null ? contentType : "application/octet-stream";
-
-        // URLEncoder - 공백문자를 +로 인코딩
-        // HTTP Header - +가 공백이 아니라 문자 +로 해석될 수 있으므로 +를 정확한 공백 의미인 %20으로 변경
-        String encodedFilename = URLEncoder.encode(resource.getFilename(), StandardCharsets.UTF_8)
-                .replaceAll("\\+", "%20");
-
-        // 파일 리소스를 HTTP 응답으로 반환
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))  // Content-Type 헤더 설정
-                // Content-Disposition 헤더 설정
-                // filename*=UTF-8'' : 브라우저가 UTF-8 인코딩 파일명을 제대로 해석하게 함
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename*=UTF-8''" + encodedFilename)
-                .body(resource);  // 파일 내용을 응답 본문에 담음
+    /**
+     * 게시글에 첨부된 파일의 저장 경로와 캐시 검증 정보를 조회하는 메서드
+     * 파일은 내용의 해시로 저장되어 있으므로 첨부 파일 정보에서 저장 경로를 찾는다.
+     */
+    @Transactional(readOnly = true)
+    public Optional<StoredFile> findFile(Long postId, String filename) {
+        return fileRepository.findByPostIdAndFileName(postId, filename)
+                .map(file -> new StoredFile(Paths.get(file.getFilePath()), file.getFileName(), file.getHash(), file.getUploadedAt()));
     }
 }
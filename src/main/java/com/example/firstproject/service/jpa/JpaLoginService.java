@@ -3,6 +3,7 @@ package com.example.firstproject.service.jpa;
 import com.example.firstproject.common.constant.SessionConst;
 import com.example.firstproject.domain.Role;
 import com.example.firstproject.domain.dto.member.LoginMember;
+import com.example.firstproject.domain.dto.member.SessionMember;
 import com.example.firstproject.domain.jpa.MemberEntity;
 import com.example.firstproject.repository.member.JpaMemberRepository;
 import jakarta.servlet.http.Cookie;
@@ -92,7 +93,7 @@ public class JpaLoginService {
         HttpSession session = request.getSession();
 
         // 세션에 정보 저장하기
-        session.setAttribute(SessionConst.LOGIN_MEMBER, optionalFindMember.orElseThrow(RuntimeException::new));
+        session.setAttribute(SessionConst.LOGIN_MEMBER, SessionMember.from(optionalFindMember.orElseThrow(RuntimeException::new)));
         session.setAttribute("status", true); // 로그인 여부 확인하기 위한 작업
 
         log.info("create session={}", session.getAttribute(SessionConst.LOGIN_MEMBER));
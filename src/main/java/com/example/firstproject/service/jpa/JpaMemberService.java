@@ -1,15 +1,15 @@
 package com.example.firstproject.service.jpa;
 
 import com.example.firstproject.common.constant.SessionConst;
+import com.example.firstproject.common.search.PostSearchIndex;
 import com.example.firstproject.domain.dto.PageHandler;
+import com.example.firstproject.domain.dto.PagedResult;
 import com.example.firstproject.domain.dto.SearchCondition;
 import com.example.firstproject.domain.dto.member.MemberDetails;
 import com.example.firstproject.domain.dto.member.MemberDto;
 import com.example.firstproject.domain.dto.member.UpdateMemberDto;
+import com.example.firstproject.domain.dto.member.SessionMember;
 import com.example.firstproject.domain.jpa.MemberEntity;
-import com.example.firstproject.domain.jpa.PostEntity;
-import com.example.firstproject.repository.comment.JpaCommentRepository;
-import com.example.firstproject.repository.file.JpaFileRepository;
 import com.example.firstproject.repository.member.JpaMemberRepository;
 import com.example.firstproject.repository.post.JpaPostRepository;
 import jakarta.servlet.http.Cookie;
@@ -18,6 +18,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BindingResult;
 
@@ -27,10 +28,13 @@ import java.util.*;
 @Transactional
 @RequiredArgsConstructor
 public class JpaMemberService {
+    private static final int DELETE_CHUNK_SIZE = 500; // 한 트랜잭션에서 삭제할 게시글 수
+
     private final JpaMemberRepository memberRepository;
     private final JpaPostRepository postRepository;
-    private final JpaFileRepository fileRepository;
-    private final JpaCommentRepository commentRepository;
+    private final PostSearchIndex searchIndex;
+    private final JpaContentDeleteService contentDeleteService;
+    private final JpaPostCountService postCountService;
 
     public Integer checkPage(Integer page) {
         if(memberRepository.getCountAll() - 1 < page * 10 - 9)
@@ -39,8 +43,8 @@ public class JpaMemberService {
         return page;
     }
 
-    public PageHandler getPageHandler(SearchCondition sc, Integer page, Integer pageSize) {
-        return new PageHandler(memberRepository.getCountBySearchCondition(sc), page, pageSize);
+    public PageHandler getPageHandler(PagedResult<MemberDetails> result, Integer page, Integer pageSize) {
+        return new PageHandler(result.getTotalCnt(), page, pageSize);
     }
 
     public Map<String, Integer> getPageInfo(Integer page, Integer pageSize) {
@@ -52,14 +56,17 @@ public class JpaMemberService {
         return map;
     }
 
-    public List<MemberDetails> getPagedMembers(Map<String, Integer> pageInfo, SearchCondition sc) {
-        return memberRepository.getPagedMembersBySearchCondition(pageInfo, sc);
+    /**
+     * 검색 조건에 해당하는 회원 목록과 전체 회원 수를 한 번의 쿼리로 조회
+     */
+    public PagedResult<MemberDetails> getPagedMembers(Map<String, Integer> pageInfo, SearchCondition sc) {
+        return memberRepository.searchPagedMembers(pageInfo, sc);
     }
 
     /**
      * 회원 정보를 조회하는 메서드, 수정 화면에 기존의 정보를 제공하기 위한 기능
      */
-    public UpdateMemberDto findMember(MemberEntity member) {
+    public UpdateMemberDto findMember(SessionMember member) {
         MemberEntity findMember = memberRepository
                                     .findById(member.getId())
                                     .orElseThrow(() -> new NoSuchElementException("가입되지 않은 회원입니다."));
@@ -71,16 +78,20 @@ public class JpaMemberService {
      * 회원을 추가하는 메서드, 즉 회원가입 기능을 하는 메서드
      */
     public void saveMember(MemberDto member) {
-        memberRepository.save(MemberEntity.from(member));
+        MemberEntity memberEntity = MemberEntity.from(member);
+
+        memberRepository.save(memberEntity);
+        postCountService.create(memberEntity.getId()); // 회원의 게시글 수 집계 행 생성
     }
 
     /**
      * 회원 권한을 변경하는 메서드
      */
-    public void changeMemberRole(MemberEntity member, Long memberId, String newRole, HttpServletRequest request) {
+    public void changeMemberRole(SessionMember member, Long memberId, String newRole, HttpServletRequest request) {
         MemberEntity findMember = memberRepository.findById(memberId).get();
+        MemberEntity loginMember = memberRepository.findById(member.getId()).get();
 
-        if(!Objects.equals(member.getUsername(), "admin") && "ADMIN".equals(findMember.getRole().name()) && "USER".equals(newRole)) {
+        if(!Objects.equals(loginMember.getUsername(), "admin") && "ADMIN".equals(findMember.getRole().name()) && "USER".equals(newRole)) {
             findMember.changeRole(newRole);
             terminateSession(request);
             return;
@@ -106,6 +117,8 @@ public class JpaMemberService {
 
 
         memberRepository.updateById(id, updateMemberDto);
+        searchIndex.updateWriter(id, updateMemberDto.getNickname()); // 작성자 검색 색인 갱신
+        postRepository.increaseCommentVersionByMemberId(id); // 바뀐 닉네임이 보이도록 게시글 페이지 ETag 갱신
 
         // 세션 처리
         HttpSession session = request.getSession(false);
@@ -113,7 +126,7 @@ public class JpaMemberService {
         Optional<MemberEntity> optionalFindMember = memberRepository.findById(id);
 
         if(session != null) {
-            session.setAttribute(SessionConst.LOGIN_MEMBER, optionalFindMember.orElseThrow(RuntimeException::new));
+            session.setAttribute(SessionConst.LOGIN_MEMBER, SessionMember.from(optionalFindMember.orElseThrow(RuntimeException::new)));
         }
 
         // 쿠키 처리
@@ -132,38 +145,24 @@ public class JpaMemberService {
     /**
      * 회원탈퇴 기능을 하는 메서드
      * 단, 회원이 작성한 게시글 정보를 먼저 삭제하도록 구현
+     * 게시글을 나누어 삭제할 때마다 커밋하기 위해서 메서드 전체를 하나의 트랜잭션으로 묶지 않는다.
      */
-    public void deleteMember(MemberEntity member, HttpServletRequest request) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void deleteMember(SessionMember member, HttpServletRequest request) {
         deleteMemberCommon(member.getId());
         terminateSession(request); // 세션 종료
     }
 
-    /**
-     * 관리자에 의해 회원 탈퇴 처리를 하는 메서드
-     */
-    public void deleteMemberByAdmin(Long memberId) {
-        deleteMemberCommon(memberId);
-    }
-
     /**
      * 회원 탈퇴 처리 로직
+     * 회원이 작성한 게시글을 DELETE_CHUNK_SIZE개씩 나누어 bulk delete 문으로 삭제하고 묶음마다 커밋한다.
      */
     private void deleteMemberCommon(Long memberId) {
-        fileRepository.deleteByMemberId(memberId); // 회원이 업로드한 파일 삭제
-        commentRepository.deleteByMemberId(memberId);
-
-        // 회원 탈퇴하기 전에 회원 식별자로 게시글을 삭제하려고 했다.
-        // 어차피 엔티티 설계시 게시글과 댓글을 CASCADE 설정을 해둬서 게시글에 다른 사람이 작성한 댓글도 삭제하는 것을 기대했다.
-        // 하지만 예상과는 다르게 CASCADE 적용이 되지 않았다....
-        // CASCADE는 em.remove() 같은 JPA remove 동작에서만 작동한다.
-        // deleteByMemberId() 내부 코드를 보면 JPA remove가 아닌 JPQL을 직접 작성해서 처리해서 예상과 다르게 작동되었다.
-        List<PostEntity> posts = postRepository.findByMemberId(memberId);
-
-        for (PostEntity post : posts) {
-            postRepository.deleteById(post.getId());
+        while (contentDeleteService.deleteMemberPosts(memberId, DELETE_CHUNK_SIZE) > 0) {
+            // 더 이상 삭제할 게시글이 없을 때까지 반복
         }
 
-        memberRepository.deleteById(memberId); // 회원 삭제
+        contentDeleteService.finishMemberDelete(memberId);
     }
 
     /**
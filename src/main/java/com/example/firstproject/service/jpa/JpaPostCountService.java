@@ -0,0 +1,86 @@
+package com.example.firstproject.service.jpa;
+
+import com.example.firstproject.domain.jpa.PostCountEntity;
+import com.example.firstproject.repository.post.JpaPostCountRepository;
+import com.example.firstproject.repository.post.JpaPostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 전체 게시글 수와 회원별 게시글 수를 관리하는 서비스
+ * 게시판 페이징 처리에 필요한 게시글 수를 count(*) 대신 미리 집계된 값에서 조회한다.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class JpaPostCountService {
+    private final JpaPostCountRepository postCountRepository;
+    private final JpaPostRepository postRepository;
+
+    /**
+     * 전체 게시글 수를 반환하는 메서드
+     */
+    public int getCountAll() {
+        return getPostCount(PostCountEntity.GLOBAL_ID).getPostCnt().intValue();
+    }
+
+    /**
+     * 회원이 작성한 게시글 수를 반환하는 메서드
+     */
+    public int getCountAll(Long memberId) {
+        return getPostCount(memberId).getPostCnt().intValue();
+    }
+
+    /**
+     * 회원가입시 회원의 게시글 수를 0으로 생성하는 메서드
+     */
+    public void create(Long memberId) {
+        postCountRepository.save(new PostCountEntity(memberId, 0L));
+    }
+
+    /**
+     * 게시글이 저장되었을 때 게시글 수를 증가시키는 메서드
+     */
+    public void increase(Long memberId) {
+        postCountRepository.addPostCnt(memberId, 1);
+    }
+
+    /**
+     * 게시글이 삭제되었을 때 게시글 수를 감소시키는 메서드
+     */
+    public void decrease(Long memberId) {
+        postCountRepository.addPostCnt(memberId, -1);
+    }
+
+    /**
+     * 회원의 게시글을 여러 개 한 번에 삭제했을 때 게시글 수를 감소시키는 메서드
+     */
+    public void decrease(Long memberId, int count) {
+        postCountRepository.addPostCnt(memberId, -count);
+    }
+
+    /**
+     * 회원 탈퇴시 회원의 게시글 수를 삭제하는 메서드
+     * 전체 게시글 수는 게시글을 나누어 삭제할 때마다 감소시키므로 (decrease) 여기서는 변경하지 않는다.
+     */
+    public void removeMember(Long memberId) {
+        postCountRepository.deleteById(memberId);
+    }
+
+    /**
+     * 집계된 게시글 수를 조회하는 메서드
+     * 집계 행은 애플리케이션 시작시(PostCountInitializer)와 회원가입시 만들어지므로 조회할 때 만들지 않는다.
+     * 집계 행이 없으면 (시작시 생성에 실패한 경우) 실제 게시글 수를 세어서 반환한다.
+     */
+    private PostCountEntity getPostCount(Long memberId) {
+        PostCountEntity postCount = postCountRepository.findById(memberId);
+
+        if (postCount == null) {
+            int count = PostCountEntity.GLOBAL_ID.equals(memberId) ? postRepository.getCountAll() : postRepository.getCountAll(memberId);
+            postCount = new PostCountEntity(memberId, (long) count);
+        }
+
+        return postCount;
+    }
+}
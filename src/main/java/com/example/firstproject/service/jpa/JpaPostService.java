@@ -1,20 +1,35 @@
 package com.example.firstproject.service.jpa;
 
+import com.example.firstproject.common.search.PostDocument;
+import com.example.firstproject.common.search.PostSearchIndex;
+import com.example.firstproject.common.search.SearchField;
+import com.example.firstproject.common.search.SearchResult;
+import com.example.firstproject.common.view.UniqueViewerCounter;
+import com.example.firstproject.common.view.ViewCountAggregator;
 import com.example.firstproject.domain.dto.PageHandler;
+import com.example.firstproject.domain.dto.PagedResult;
+import com.example.firstproject.domain.dto.PostCursor;
 import com.example.firstproject.domain.dto.SearchCondition;
+import com.example.firstproject.domain.dto.comment.CommentNode;
+import com.example.firstproject.domain.dto.comment.CommentSlice;
+import com.example.firstproject.domain.dto.post.PostCounts;
 import com.example.firstproject.domain.dto.post.PostDetails;
 import com.example.firstproject.domain.dto.post.PostDto;
+import com.example.firstproject.domain.dto.post.PostView;
+import com.example.firstproject.domain.dto.member.SessionMember;
 import com.example.firstproject.domain.jpa.FileEntity;
-import com.example.firstproject.domain.jpa.MemberEntity;
 import com.example.firstproject.domain.jpa.PostEntity;
 import com.example.firstproject.repository.file.JpaFileRepository;
 import com.example.firstproject.repository.post.JpaPostRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -24,6 +39,12 @@ import java.util.stream.Collectors;
 public class JpaPostService {
     private final JpaPostRepository postRepository;
     private final JpaFileRepository fileRepository;
+    private final JpaCommentService commentService;
+    private final JpaPostCountService postCountService;
+    private final ViewCountAggregator viewCountAggregator;
+    private final UniqueViewerCounter uniqueViewerCounter;
+    private final PostSearchIndex searchIndex;
+    private final JpaBlobService blobService;
 
     /**
      * 게시글에서 수정된 내용이 있는지 확인
@@ -72,13 +93,17 @@ public class JpaPostService {
 
     /**
      * 게시판 페이징 처리를 위해서 PageHandler 생성 및 반환하는 메서드
+     * 전체 게시글 수는 게시글 목록을 조회할 때 함께 구했으므로 count 쿼리를 다시 실행하지 않는다.
      */
-    public PageHandler getPageHandler(SearchCondition sc, Integer page, Integer pageSize, MemberEntity member) {
-        return new PageHandler(postRepository.getMyCountBySearchCondition(sc, member), page, pageSize);
+    public PageHandler getPageHandler(PagedResult<PostDetails> result, Integer page, Integer pageSize) {
+        return new PageHandler(result.getTotalCnt(), page, pageSize);
     }
 
-    public PageHandler getPageHandler(SearchCondition sc, Integer page, Integer pageSize) {
-        return new PageHandler(postRepository.getCountBySearchCondition(sc), page, pageSize);
+    /**
+     * 커서 방식 페이징 처리를 위해서 PageHandler 생성 및 반환하는 메서드
+     */
+    public PageHandler getPageHandler(List<PostDetails> posts, Integer page, Integer pageSize, String direction) {
+        return PageHandler.ofCursor(posts, page, pageSize, direction);
     }
 
     /**
@@ -94,17 +119,58 @@ public class JpaPostService {
     }
 
     /**
-     * 검색 조건에 해당하는 나의 게시글 목록에 페이징 처리하여 반환
+     * 검색 조건에 해당하는 나의 게시글 목록에 페이징 처리하여 전체 게시글 수와 함께 반환
+     * 검색어가 없으면 전체 게시글 수이므로 count 쿼리 대신 집계된 게시글 수 사용
      */
-    public List<PostDetails> getPagedMyPosts(Map<String, Integer> pageInfo, SearchCondition sc, MemberEntity member) {
-        return postRepository.getPagedMyPostsBySearchCondition(pageInfo, sc, member);
+    public PagedResult<PostDetails> getPagedMyPosts(Map<String, Integer> pageInfo, SearchCondition sc, SessionMember member) {
+        PagedResult<PostDetails> result;
+
+        if (!StringUtils.hasText(sc.getKeyword())) {
+            result = new PagedResult<>(postRepository.getPagedMyPostsBySearchCondition(pageInfo, sc, member.getId()),
+                    postCountService.getCountAll(member.getId()));
+        } else {
+            SearchResult searchResult = searchByIndex(sc, member.getId(), pageInfo.get("offset"), pageInfo.get("pageSize"));
+
+            result = searchResult != null
+                    ? new PagedResult<>(postRepository.findByIds(searchResult.getPostIds()), searchResult.getTotalCnt())
+                    : postRepository.searchPagedMyPosts(pageInfo, sc, member.getId());
+        }
+
+        viewCountAggregator.applyPending(result.getContent());
+        return result;
     }
 
     /**
-     * 검색 조건에 해당하는 게시글 목록에 페이징 처리를 하여 반환
+     * 검색 조건에 해당하는 게시글 목록에 페이징 처리를 하여 전체 게시글 수와 함께 반환
      */
-    public List<PostDetails> getPagedPosts(Map<String, Integer> pageInfo, SearchCondition sc) {
-        return postRepository.getPagedPostsBySearchCondition(pageInfo, sc);
+    public PagedResult<PostDetails> getPagedPosts(Map<String, Integer> pageInfo, SearchCondition sc) {
+        PagedResult<PostDetails> result;
+
+        if (!StringUtils.hasText(sc.getKeyword())) {
+            result = new PagedResult<>(postRepository.getPagedPostsBySearchCondition(pageInfo, sc), postCountService.getCountAll());
+        } else {
+            SearchResult searchResult = searchByIndex(sc, null, pageInfo.get("offset"), pageInfo.get("pageSize"));
+
+            result = searchResult != null
+                    ? new PagedResult<>(postRepository.findByIds(searchResult.getPostIds()), searchResult.getTotalCnt())
+                    : postRepository.searchPagedPosts(pageInfo, sc);
+        }
+
+        viewCountAggregator.applyPending(result.getContent());
+        return result;
+    }
+
+    /**
+     * 커서 위치를 기준으로 게시글 목록을 반환 (OFFSET 없이 인덱스에서 바로 시작 위치를 찾는다)
+     * 다음 방향은 다음 페이지 존재 여부를 확인하기 위해서 pageSize + 1개를 조회한다.
+     */
+    public List<PostDetails> getPagedPostsByCursor(PostCursor postCursor, String direction, Integer pageSize) {
+        List<PostDetails> posts = PostCursor.PREV.equals(direction)
+                ? postRepository.findAllBefore(postCursor, pageSize)
+                : postRepository.findAllAfter(postCursor, pageSize + 1);
+
+        viewCountAggregator.applyPending(posts);
+        return posts;
     }
 
     /**
@@ -112,6 +178,22 @@ public class JpaPostService {
      */
     public void savePost(PostEntity post) {
         postRepository.save(post);
+        postCountService.increase(post.getMember().getId());
+        searchIndex.index(PostDocument.from(post));
+    }
+
+    /**
+     * 검색어가 있으면 검색 색인에서 관련도 순으로 게시글을 검색하는 메서드
+     * 색인으로 처리할 수 없는 검색 조건이거나 색인이 준비되지 않았으면 null 반환
+     */
+    private SearchResult searchByIndex(SearchCondition sc, Long memberId, int offset, int limit) {
+        SearchField field = SearchField.from(sc.getOption());
+
+        if (field == null || !StringUtils.hasText(sc.getKeyword())) {
+            return null;
+        }
+
+        return searchIndex.search(field, sc.getKeyword(), memberId, offset, limit);
     }
 
     /**
@@ -122,11 +204,81 @@ public class JpaPostService {
         return PostDto.from(post);
     }
 
+    /**
+     * 게시글 상세 페이지에 필요한 정보를 조회하는 메서드
+     * 게시글, 작성자, 첨부 파일은 fetch join 쿼리 하나로 가져오고 댓글은 첫 번째 최상위 댓글 목록과 그 답글만 가져온다.
+     * 나머지 댓글은 화면에서 댓글 더보기를 눌렀을 때 조회한다.
+     */
+    @Transactional(readOnly = true)
+    public PostView getPostView(Long postId) {
+        PostEntity post = postRepository.findDetailById(postId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 게시글입니다. postId=" + postId));
+
+        CommentSlice<CommentNode> comments = commentService.getCommentTree(postId, null);
+
+        return PostView.builder()
+                .post(PostDto.from(post))
+                .nickname(post.getMember().getNickname())
+                .comments(comments.getComments())
+                .commentNextCursor(comments.getNextCursor())
+                .build();
+    }
+
+    /**
+     * 게시글 페이지의 weak ETag를 만드는 메서드
+     * 게시글 수정 시각과 댓글 버전이 같으면 같은 페이지이므로 화면을 다시 만들지 않고 304 응답을 보낼 수 있다.
+     * 로그인한 회원에 따라 수정/삭제 버튼이 달라지므로 회원 식별자와 권한, 언어도 포함한다.
+     * 조회수와 순 조회자 수는 조회할 때마다 바뀌므로 페이지에 넣지 않고 getPostCounts()로 따로 조회한다.
+     */
+    @Transactional(readOnly = true)
+    public String getPostETag(Long postId, SessionMember loginMember, Locale locale) {
+        Object[] version = postRepository.findVersionById(postId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 게시글입니다. postId=" + postId));
+
+        LocalDateTime updatedAt = (LocalDateTime) (version[1] != null ? version[1] : version[0]);
+        Long commentVersion = version[2] != null ? (Long) version[2] : 0L;
+        String member = loginMember != null ? loginMember.getId() + "." + loginMember.getRole().name() + "." + loginMember.getVersion() : "guest";
+
+        return "W/\"" + Long.toHexString(updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                + "-" + commentVersion + "-" + member + "-" + locale.toLanguageTag() + "\"";
+    }
+
+    /**
+     * 게시글의 조회수와 순 조회자 수를 조회하는 메서드
+     * 아직 반영되지 않은 조회수와 조회자까지 더한 값을 반환한다.
+     */
+    @Transactional(readOnly = true)
+    public Optional<PostCounts> getPostCounts(Long postId) {
+        return postRepository.findCountsById(postId)
+                .map(counts -> new PostCounts(
+                        (counts[0] != null ? (Long) counts[0] : 0L) + viewCountAggregator.getPendingViewCnt(postId),
+                        uniqueViewerCounter.estimate(postId, (byte[]) counts[1])));
+    }
+
     /**
      * 게시글의 조회수를 증가시키는 메서드
+     * 조회할 때마다 update 하지 않고 메모리에 모아두었다가 주기적으로 한 번에 반영한다.
      */
     public void increaseViewCnt(Long postId) {
-        postRepository.updateViewCnt(postId);
+        viewCountAggregator.increment(postId);
+    }
+
+    /**
+     * 게시글 조회자를 순 조회자 스케치에 추가하는 메서드
+     * 조회수와 마찬가지로 메모리에 모아두었다가 주기적으로 저장된 스케치와 합친다.
+     */
+    public void addViewer(Long postId, long viewer) {
+        uniqueViewerCounter.add(postId, viewer);
+    }
+
+    /**
+     * 게시글 목록의 게시글 식별자별 순 조회자 수(근사값)를 반환하는 메서드
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> getUniqueViewerCnts(List<PostDetails> posts) {
+        List<Long> postIds = posts.stream().map(PostDetails::getId).toList();
+
+        return uniqueViewerCounter.estimateAll(postIds, postRepository.findViewerSketches(postIds));
     }
 
     /**
@@ -135,13 +287,20 @@ public class JpaPostService {
     public void editPost(Long postId, PostDto postDto) {
         postDto.updateLastUpdatedAt(); // 게시글 수정 날짜 설정
         postRepository.updateById(postId, postDto);
+        searchIndex.index(PostDocument.from(postRepository.findById(postId)));
     }
 
     /**
      * 게시글을 삭제하는 메서드
      */
     public void deletePost(Long postId) {
+        Long memberId = postRepository.findById(postId).getMember().getId();
+        List<String> fileHashes = fileRepository.findHashesByPostIds(List.of(postId));
+
         postRepository.deleteById(postId);
+        blobService.release(fileHashes); // 게시글과 함께 삭제되는 첨부 파일이 참조하던 blob의 참조 수 감소
+        postCountService.decrease(memberId);
+        searchIndex.remove(postId);
     }
 
     /**
@@ -152,8 +311,7 @@ public class JpaPostService {
      * 이러한 점을 방지하기 위해 해당 메서드를 도입했다.
      */
     public Integer checkPage(Integer page) {
-        System.out.println("postRepository = " + postRepository.getCountAll());
-        if(postRepository.getCountAll() - 1 < page * 10 - 9)
+        if(postCountService.getCountAll() - 1 < page * 10 - 9)
             return page == 1 ? page : page - 1;
 
         return page;
@@ -164,11 +322,11 @@ public class JpaPostService {
      * 게시글 작성할 때 마다 맨 첫 번쩨 페이지로 가는 것이 불편해서 해당 메서드 도입
      * 해당 메서드를 도입함으로써 게시글을 작성했을 때 작성한 게시글이 존재하는 페이지로 이동이 가능해졌다.
      */
-    public Integer findPage(String path, MemberEntity member) {
-        int totalCnt = postRepository.getCountAll();
+    public Integer findPage(String path, SessionMember member) {
+        int totalCnt = postCountService.getCountAll();
 
         if("/my/posts".equals(path)) {
-            totalCnt = postRepository.getCountByWriter(member.getNickname());
+            totalCnt = postCountService.getCountAll(member.getId());
         }
 
         if(totalCnt != 0) {